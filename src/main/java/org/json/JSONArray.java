@@ -28,7 +28,6 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Array;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
@@ -82,15 +81,17 @@ import java.util.Map;
 public class JSONArray {
 
     /**
-     * The arrayList where the JSONArray's properties are kept.
+     * The list where the JSONArray's properties are kept. While all of the
+     * elements are ints, longs, doubles or booleans of one type, the list
+     * keeps them unboxed.
      */
-    private final ArrayList myArrayList;
+    private final JSONValueList myArrayList;
 
     /**
      * Construct an empty JSONArray.
      */
     public JSONArray() {
-        myArrayList = new ArrayList();
+        myArrayList = new JSONValueList();
     }
 
     /**
@@ -111,7 +112,7 @@ public class JSONArray {
                     myArrayList.add(JSONObject.NULL);
                 } else {
                     x.back();
-                    myArrayList.add(x.nextValue());
+                    myArrayList.add(x.nextNestedValue());
                 }
                 switch (x.nextClean()) {
                 case ';':
@@ -146,7 +147,7 @@ public class JSONArray {
      * @param collection     A Collection.
      */
     public JSONArray(Collection collection) {
-        myArrayList = new ArrayList();
+        myArrayList = new JSONValueList();
         if (collection != null) {
             Iterator iter = collection.iterator();
             while (iter.hasNext()) {
@@ -176,13 +177,20 @@ public class JSONArray {
      * @param index
      *  The index must be between 0 and length() - 1.
      * @return An object value.
-     * @throws JSONException If there is no value for the index.
+     * @throws JSONException If there is no value for the index, or if it is
+     *  a lazy value with a syntax error.
      */
     public Object get(int index) throws JSONException {
-        Object object = opt(index);
+        Object object = index < 0 || index >= length()
+            ? null
+            : myArrayList.get(index);
         if (object == null) {
             throw new JSONException("JSONArray[" + index + "] not found.");
         }
+        if (object instanceof JSONLazyValue) {
+            object = ((JSONLazyValue)object).parse();
+            myArrayList.set(index, object);
+        }
         return object;
     }
 
@@ -218,6 +226,9 @@ public class JSONArray {
      *  be converted to a number.
      */
     public double getDouble(int index) throws JSONException {
+        if (myArrayList.isNumber(index)) {
+            return myArrayList.doubleAt(index);
+        }
         Object object = get(index);
         try {
             return object instanceof Number
@@ -236,6 +247,9 @@ public class JSONArray {
      * @throws   JSONException If the key is not found or if the value is not a number.
      */
     public int getInt(int index) throws JSONException {
+        if (myArrayList.isNumber(index)) {
+            return myArrayList.intAt(index);
+        }
         Object object = get(index);
         try {
             return object instanceof Number
@@ -285,6 +299,9 @@ public class JSONArray {
      *  be converted to a number.
      */
     public long getLong(int index) throws JSONException {
+        if (myArrayList.isNumber(index)) {
+            return myArrayList.longAt(index);
+        }
         Object object = get(index);
         try {
             return object instanceof Number
@@ -352,12 +369,22 @@ public class JSONArray {
      * Get the optional object value associated with an index.
      * @param index The index must be between 0 and length() - 1.
      * @return      An object value, or null if there is no
-     *              object at that index.
+     *              object at that index, or if it is a lazy value
+     *              with a syntax error.
      */
     public Object opt(int index) {
-        return (index < 0 || index >= length())
+        Object object = (index < 0 || index >= length())
             ? null
             : myArrayList.get(index);
+        if (object instanceof JSONLazyValue) {
+            try {
+                object = ((JSONLazyValue)object).parse();
+            } catch (JSONException e) {
+                return null;
+            }
+            myArrayList.set(index, object);
+        }
+        return object;
     }
 
     /**
@@ -553,9 +580,11 @@ public class JSONArray {
      * @return 
      */
     public JSONArray put(double value) throws JSONException {
-        Double d = new Double(value);
-        JSONObject.testValidity(d);
-        put(d);
+        if (Double.isInfinite(value) || Double.isNaN(value)) {
+            throw new JSONException(
+                "JSON does not allow non-finite numbers.");
+        }
+        myArrayList.addDouble(value);
         return this;
     }
 
@@ -566,7 +595,7 @@ public class JSONArray {
      * @return 
      */
     public JSONArray put(int value) {
-        put(new Integer(value));
+        myArrayList.addInt(value);
         return this;
     }
 
@@ -577,7 +606,7 @@ public class JSONArray {
      * @return 
      */
     public JSONArray put(long value) {
-        put(new Long(value));
+        myArrayList.addLong(value);
         return this;
     }
 
@@ -604,6 +633,49 @@ public class JSONArray {
         return this;
     }
 
+    /**
+     * Append the values of a double array. This increases the array's length
+     * by the length of the double array.
+     *
+     * @param values A double array.
+     * @return this.
+     * @throws JSONException if any of the values is not finite.
+     */
+    public JSONArray putAll(double[] values) throws JSONException {
+        for (int i = 0; i < values.length; i += 1) {
+            if (Double.isInfinite(values[i]) || Double.isNaN(values[i])) {
+                throw new JSONException(
+                    "JSON does not allow non-finite numbers.");
+            }
+        }
+        myArrayList.addDoubles(values);
+        return this;
+    }
+
+    /**
+     * Append the values of an int array. This increases the array's length
+     * by the length of the int array.
+     *
+     * @param values An int array.
+     * @return this.
+     */
+    public JSONArray putAll(int[] values) {
+        myArrayList.addInts(values);
+        return this;
+    }
+
+    /**
+     * Append the values of a long array. This increases the array's length
+     * by the length of the long array.
+     *
+     * @param values A long array.
+     * @return this.
+     */
+    public JSONArray putAll(long[] values) {
+        myArrayList.addLongs(values);
+        return this;
+    }
+
     /**
      * Put or replace a boolean value in the JSONArray. If the index is greater
      * than the length of the JSONArray, then null elements will be added as
@@ -719,16 +791,56 @@ public class JSONArray {
 
     /**
      * Remove an index and close the hole.
+     * A lazy value that has a syntax error is returned unparsed, so that the
+     * error is not lost: it is reported when the value is written, or put
+     * back and asked for.
      * @param index The index of the element to be removed.
      * @return The value that was associated with the index,
      * or null if there was no value.
      */
     public Object remove(int index) {
-        Object o = opt(index);
-        myArrayList.remove(index);
+        Object o = myArrayList.remove(index);
+        if (o instanceof JSONLazyValue) {
+            try {
+                o = ((JSONLazyValue)o).parse();
+            } catch (JSONException ignore) {
+            }
+        }
         return o;
     }
 
+    /**
+     * Produce a double array containing the values of this JSONArray.
+     * @return A double array.
+     * @throws JSONException If any of the values is not a number.
+     */
+    public double[] toDoubleArray() throws JSONException {
+        if (myArrayList.isNumber(0) || length() == 0) {
+            return myArrayList.toDoubleArray();
+        }
+        double[] result = new double[length()];
+        for (int i = 0; i < result.length; i += 1) {
+            result[i] = getDouble(i);
+        }
+        return result;
+    }
+
+    /**
+     * Produce an int array containing the values of this JSONArray.
+     * @return An int array.
+     * @throws JSONException If any of the values is not a number.
+     */
+    public int[] toIntArray() throws JSONException {
+        if (myArrayList.isNumber(0) || length() == 0) {
+            return myArrayList.toIntArray();
+        }
+        int[] result = new int[length()];
+        for (int i = 0; i < result.length; i += 1) {
+            result[i] = getInt(i);
+        }
+        return result;
+    }
+
     /**
      * Produce a JSONObject by combining a JSONArray of names with the values
      * of this JSONArray.
@@ -749,6 +861,22 @@ public class JSONArray {
         return jo;
     }
 
+    /**
+     * Produce a long array containing the values of this JSONArray.
+     * @return A long array.
+     * @throws JSONException If any of the values is not a number.
+     */
+    public long[] toLongArray() throws JSONException {
+        if (myArrayList.isNumber(0) || length() == 0) {
+            return myArrayList.toLongArray();
+        }
+        long[] result = new long[length()];
+        for (int i = 0; i < result.length; i += 1) {
+            result[i] = getLong(i);
+        }
+        return result;
+    }
+
     /**
      * Make a JSON text of this JSONArray. For compactness, no
      * unnecessary whitespace is added. If it is not possible to produce a
@@ -799,6 +927,31 @@ public class JSONArray {
         return write(writer, 0, 0);
     }
 
+    /**
+     * Write an element. Elements that are kept unboxed are written without
+     * being boxed.
+     * @param writer       The Writer.
+     * @param index        The index of the element.
+     * @param indentFactor The number of spaces to add to each level of
+     *  indentation.
+     * @param indent       The indention of the element.
+     */
+    private void writeElement(Writer writer, int index, int indentFactor,
+            int indent) throws JSONException, IOException {
+        switch (myArrayList.kind()) {
+        case JSONValueList.INT:
+        case JSONValueList.LONG:
+            JSONObject.writeLong(writer, myArrayList.longAt(index));
+            break;
+        case JSONValueList.DOUBLE:
+            JSONObject.writeDouble(writer, myArrayList.doubleAt(index));
+            break;
+        default:
+            JSONObject.writeValue(writer, myArrayList.get(index), indentFactor,
+                indent);
+        }
+    }
+
     /**
      * Write the contents of the JSONArray as JSON text to a writer. For
      * compactness, no whitespace is added.
@@ -819,7 +972,7 @@ public class JSONArray {
             writer.write('[');
 
             if (length == 1) {
-                JSONObject.writeValue(writer, myArrayList.get(0), indentFactor, indent);
+                writeElement(writer, 0, indentFactor, indent);
             } else if (length != 0) {
                 final int newindent = indent + indentFactor;
 
@@ -831,7 +984,7 @@ public class JSONArray {
                         writer.write('\n');
                     }
                     JSONObject.indent(writer, newindent);
-                    JSONObject.writeValue(writer, myArrayList.get(i), indentFactor, newindent);
+                    writeElement(writer, i, indentFactor, newindent);
                     commanate = true;
                 }
                 if (indentFactor > 0) {
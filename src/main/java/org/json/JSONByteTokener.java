@@ -0,0 +1,512 @@
+package org.json;
+
+import java.nio.ByteBuffer;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONByteTokener is a JSONTokener that reads UTF-8 encoded bytes directly
+ * from a byte array or a ByteBuffer, without going through an
+ * InputStreamReader. Whitespace, structural characters and unquoted text are
+ * read from the bytes as they are. Multi-byte sequences are only decoded
+ * where they occur, which is normally inside quoted strings. Malformed
+ * sequences are replaced with <code>U+FFFD</code>, as an InputStreamReader
+ * would do.
+ * <p>
+ * It produces the same JSONObject and JSONArray trees as a JSONTokener
+ * reading the same text. The index reported by <code>syntaxError</code> is a
+ * byte offset.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONByteTokener extends JSONTokener {
+
+    /**
+     * The bytes being read. The current window is the range from
+     * <code>position</code> to <code>limit</code>. The window starts at
+     * <code>offset</code> in the source.
+     */
+    ByteBuffer bytes;
+    long       offset;
+    int        position;
+    int        limit;
+
+    private char    pending;
+    private int     previousLength;
+
+    /**
+     * Construct a JSONByteTokener from a byte array.
+     *
+     * @param bytes  UTF-8 encoded JSON text.
+     */
+    public JSONByteTokener(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Construct a JSONByteTokener from a part of a byte array.
+     *
+     * @param bytes  UTF-8 encoded JSON text.
+     * @param offset The offset of the first byte.
+     * @param length The number of bytes.
+     */
+    public JSONByteTokener(byte[] bytes, int offset, int length) {
+        this(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Construct a JSONByteTokener from the remaining bytes of a ByteBuffer.
+     * The position of the buffer is not changed.
+     *
+     * @param buffer A buffer holding UTF-8 encoded JSON text.
+     */
+    public JSONByteTokener(ByteBuffer buffer) {
+        bytes = buffer.slice();
+        offset = 0;
+        position = 0;
+        limit = bytes.limit();
+        chars = new char[64];
+        pending = 0;
+        previousLength = 0;
+    }
+
+    /**
+     * Back up one character.
+     */
+    public void back() throws JSONException {
+        super.back();
+        index -= previousLength - 1;
+    }
+
+    /**
+     * Get the next character, decoding it from UTF-8 if necessary.
+     * A character outside of the Basic Multilingual Plane is returned as
+     * two surrogate characters.
+     *
+     * @return The next character, or 0 if past the end of the source.
+     */
+    public char next() throws JSONException {
+        char c;
+        int length;
+        if (usePrevious) {
+            usePrevious = false;
+            c = previous;
+            length = previousLength;
+        } else if (pending != 0) {
+            c = pending;
+            pending = 0;
+            length = 0;
+        } else if (position < limit || fill()) {
+            int b = bytes.get(position);
+            if (b >= 0) {
+                c = (char)b;
+                position += 1;
+                length = 1;
+            } else {
+                long start = offset + position;
+                c = toChars(decode());
+                length = (int)(offset + position - start);
+            }
+            if (c == 0) {
+                eof = true;
+            }
+        } else {
+            c = 0;
+            length = 1;
+            eof = true;
+        }
+        index += length;
+        count(c);
+        previousLength = length;
+        return c;
+    }
+
+    /**
+     * Get the next char in the source, skipping whitespace.
+     * @return  A character, or 0 if there are no more characters.
+     */
+    public char nextClean() throws JSONException {
+        if (!usePrevious && pending == 0) {
+            for (;;) {
+                while (position < limit) {
+                    int b = bytes.get(position);
+                    if (b <= 0 || b > ' ') {
+                        return next();
+                    }
+                    position += 1;
+                    index += 1;
+                    count((char)b);
+                    previousLength = 1;
+                }
+                if (!fill()) {
+                    return next();
+                }
+            }
+        }
+        for (;;) {
+            char c = next();
+            if (c == 0 || c > ' ') {
+                return c;
+            }
+        }
+    }
+
+    /**
+     * Return the characters up to the next close quote character, decoding
+     * them from UTF-8, and taking the result from a JSONStringCache if one is
+     * given. Backslash processing is done.
+     * @param quote The quoting character, either
+     *      <code>"</code>&nbsp;<small>(double quote)</small> or
+     *      <code>'</code>&nbsp;<small>(single quote)</small>.
+     * @param cache A JSONStringCache, or null.
+     * @return      A String.
+     * @throws JSONException Unterminated string.
+     */
+    String nextString(char quote, JSONStringCache cache) throws JSONException {
+        int length = nextChars(quote);
+        return cache == null
+            ? new String(chars, 0, length)
+            : cache.intern(chars, 0, length);
+    }
+
+    /**
+     * Read the characters up to the next close quote character, decoding
+     * them from UTF-8. Backslash processing is done.
+     * @param quote The quoting character.
+     * @return      The number of characters read.
+     * @throws JSONException Unterminated string.
+     */
+    int nextChars(char quote) throws JSONException {
+        char c;
+        int length = 0;
+        for (;;) {
+            if (!usePrevious && pending == 0) {
+                length = appendAscii(length, quote);
+            }
+            c = next();
+            switch (c) {
+            case 0:
+            case '\n':
+            case '\r':
+                throw syntaxError("Unterminated string");
+            case '\\':
+                c = next();
+                switch (c) {
+                case 'b':
+                    c = '\b';
+                    break;
+                case 't':
+                    c = '\t';
+                    break;
+                case 'n':
+                    c = '\n';
+                    break;
+                case 'f':
+                    c = '\f';
+                    break;
+                case 'r':
+                    c = '\r';
+                    break;
+                case 'u':
+                    c = nextHex();
+                    break;
+                case '"':
+                case '\'':
+                case '\\':
+                case '/':
+                    break;
+                default:
+                    throw syntaxError("Illegal escape.");
+                }
+                break;
+            default:
+                if (c == quote) {
+                    return length;
+                }
+            }
+            if (length == chars.length) {
+                grow(length + 1);
+            }
+            chars[length] = c;
+            length += 1;
+        }
+    }
+
+    /**
+     * Read an unquoted text into the character buffer, copying runs of
+     * ASCII straight from the byte buffer.
+     * @param c The first character of the text, already read.
+     * @return The number of characters in the buffer.
+     * @throws JSONException If the source cannot be read.
+     */
+    int nextText(char c) throws JSONException {
+        int length = 0;
+        while (c >= ' ' && !isDelimiter(c)) {
+            if (length == chars.length) {
+                grow(length + 1);
+            }
+            chars[length] = c;
+            length += 1;
+            if (!usePrevious && pending == 0) {
+                length = appendAscii(length, (char)0);
+            }
+            c = next();
+        }
+        back();
+        return length;
+    }
+
+    /**
+     * Skip the rest of a string, object or array, scanning runs of ASCII
+     * bytes directly.
+     * @param state The state of skipValue after the first character.
+     * @throws JSONException If the value is not terminated.
+     */
+    void skipRest(int state) throws JSONException {
+        for (;;) {
+            while (!usePrevious && pending == 0) {
+                int i = position;
+                while (i < limit) {
+                    int b = bytes.get(i);
+                    if (b < ' ') {
+                        break;
+                    }
+                    i += 1;
+                    state = skip(state, (char)b);
+                    if (state == 0) {
+                        break;
+                    }
+                }
+                if (i > position) {
+                    consumeAscii(i);
+                }
+                if (state == 0) {
+                    return;
+                }
+                if (i < limit || !fill()) {
+                    break;
+                }
+            }
+            char c = next();
+            checkSkip(state, c);
+            state = skip(state, c);
+            if (state == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skip characters until the next character is the requested character.
+     * If the requested character is not found, no characters are skipped.
+     * @param to A character to skip to.
+     * @return The requested character, or zero if the requested character
+     * is not found.
+     */
+    public char skipTo(char to) throws JSONException {
+        char c;
+        long startPosition = offset + position;
+        long startIndex = index;
+        long startCharacter = character;
+        long startLine = line;
+        char startPending = pending;
+        char startPrevious = previous;
+        int startPreviousLength = previousLength;
+        boolean startUsePrevious = usePrevious;
+        boolean startEof = eof;
+        do {
+            c = next();
+            if (c == 0) {
+                reposition(startPosition);
+                index = startIndex;
+                character = startCharacter;
+                line = startLine;
+                pending = startPending;
+                previous = startPrevious;
+                previousLength = startPreviousLength;
+                usePrevious = startUsePrevious;
+                eof = startEof;
+                return c;
+            }
+        } while (c != to);
+        back();
+        return c;
+    }
+
+    /**
+     * Make more bytes available after the limit of the window. The bytes
+     * from the position onward must be kept.
+     * @return true if the window was extended.
+     * @throws JSONException If the source cannot be read.
+     */
+    boolean fill() throws JSONException {
+        return false;
+    }
+
+    /**
+     * Move the position to an offset in the source that was read before.
+     * @param newPosition An offset in the source.
+     * @throws JSONException If the source cannot be read.
+     */
+    void reposition(long newPosition) throws JSONException {
+        position = (int)(newPosition - offset);
+    }
+
+    /**
+     * Append a run of ASCII characters to the character buffer, consuming
+     * them. The run stops at a control character, a non-ASCII byte, a
+     * backslash, the quote character, or, if the quote is 0, at a delimiter.
+     * @param length The number of characters already in the buffer.
+     * @param quote  The closing quote, or 0 for unquoted text.
+     * @return The new number of characters in the buffer.
+     */
+    private int appendAscii(int length, char quote) throws JSONException {
+        for (;;) {
+            int start = position;
+            int end = start;
+            while (end < limit) {
+                int b = bytes.get(end);
+                if (b < ' ' || b == quote || b == '\\' ||
+                        (quote == 0 && isDelimiter((char)b))) {
+                    break;
+                }
+                end += 1;
+            }
+            int n = end - start;
+            if (n > 0) {
+                if (length + n > chars.length) {
+                    grow(length + n);
+                }
+                for (int i = start; i < end; i += 1) {
+                    chars[length] = (char)bytes.get(i);
+                    length += 1;
+                }
+                consumeAscii(end);
+            }
+            if (end < limit || !fill()) {
+                return length;
+            }
+        }
+    }
+
+    /**
+     * Consume the ASCII bytes from the position up to <code>end</code>,
+     * updating the counters as <code>next()</code> would. The bytes must not
+     * include line terminators.
+     * @param end The position after the last byte consumed.
+     */
+    private void consumeAscii(int end) {
+        int n = end - position;
+        if (previous == '\r') {
+            line += 1;
+            character = n;
+        } else {
+            character += n;
+        }
+        index += n;
+        previous = (char)bytes.get(end - 1);
+        previousLength = 1;
+        position = end;
+    }
+
+    /**
+     * Update the line and character counters for a consumed character.
+     * @param c The character.
+     */
+    private void count(char c) {
+        if (previous == '\r') {
+            line += 1;
+            character = c == '\n' ? 0 : 1;
+        } else if (c == '\n') {
+            line += 1;
+            character = 0;
+        } else {
+            character += 1;
+        }
+        previous = c;
+    }
+
+    /**
+     * Decode the multi-byte UTF-8 sequence at the position, and advance past
+     * it. A malformed sequence produces <code>U+FFFD</code>.
+     * @return A code point.
+     */
+    private int decode() throws JSONException {
+        int b = bytes.get(position) & 0xFF;
+        int n;
+        int cp;
+        if (b >= 0xC2 && b < 0xE0) {
+            n = 1;
+            cp = b & 0x1F;
+        } else if (b >= 0xE0 && b < 0xF0) {
+            n = 2;
+            cp = b & 0x0F;
+        } else if (b >= 0xF0 && b < 0xF5) {
+            n = 3;
+            cp = b & 0x07;
+        } else {
+            position += 1;
+            return 0xFFFD;
+        }
+        if (limit - position <= n) {
+            fill();
+        }
+        for (int i = 1; i <= n; i += 1) {
+            if (position + i >= limit) {
+                position += i;
+                return 0xFFFD;
+            }
+            b = bytes.get(position + i) & 0xFF;
+            if ((b & 0xC0) != 0x80) {
+                position += i;
+                return 0xFFFD;
+            }
+            cp = (cp << 6) | (b & 0x3F);
+        }
+        position += n + 1;
+        if ((n == 2 && (cp < 0x800 || (cp >= 0xD800 && cp < 0xE000))) ||
+                (n == 3 && (cp < 0x10000 || cp > 0x10FFFF))) {
+            return 0xFFFD;
+        }
+        return cp;
+    }
+
+    /**
+     * Convert a code point to a character. If it is a supplementary code
+     * point, the high surrogate is returned and the low surrogate is kept to
+     * be returned by the next call to <code>next</code>.
+     * @param cp A code point.
+     * @return A character.
+     */
+    private char toChars(int cp) {
+        if (cp < 0x10000) {
+            return (char)cp;
+        }
+        cp -= 0x10000;
+        pending = (char)(0xDC00 + (cp & 0x3FF));
+        return (char)(0xD800 + (cp >> 10));
+    }
+}
@@ -0,0 +1,397 @@
+package org.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+
+/**
+ * A JSONByteWriter is a Writer that encodes the characters written to it as
+ * UTF-8 bytes itself, with a fast path for ASCII, instead of handing them to
+ * an OutputStreamWriter. Because it is a Writer, it can be given to
+ * JSONObject.write, JSONArray.write or a JSONWriter. For example, <pre>
+ * JSONByteWriter bytes = new JSONByteWriter();
+ * myJSONObject.write(bytes);
+ * bytes.writeTo(myChannel);</pre>
+ * <p>
+ * A JSONByteWriter made without an OutputStream collects the bytes in an
+ * array that grows as needed. toByteBuffer and writeTo give out that array
+ * without copying it, and reset empties it so that the JSONByteWriter can be
+ * used again. A JSONByteWriter made with an OutputStream writes the bytes to
+ * the stream in blocks, and it must be flushed or closed when the last value
+ * has been written.
+ * <p>
+ * A high surrogate is held until the next character. Surrogates that do not
+ * make a pair are written as '?', as an OutputStreamWriter would write them.
+ * A JSONByteWriter is not safe for use by multiple threads.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONByteWriter extends Writer {
+
+    /**
+     * The bytes that have not yet been written to the stream.
+     */
+    private byte[] bytes;
+
+    /**
+     * The number of bytes in the byte array.
+     */
+    private int count;
+
+    /**
+     * The stream, or null if the bytes are kept.
+     */
+    private final OutputStream out;
+
+    /**
+     * A high surrogate that is waiting for its low surrogate, or 0.
+     */
+    private char pending;
+
+
+    /**
+     * Make a JSONByteWriter that keeps the bytes in an array.
+     */
+    public JSONByteWriter() {
+        this(256);
+    }
+
+    /**
+     * Make a JSONByteWriter that keeps the bytes in an array.
+     * @param capacity The initial size of the array.
+     */
+    public JSONByteWriter(int capacity) {
+        this.bytes = new byte[Math.max(capacity, 4)];
+        this.out = null;
+    }
+
+    /**
+     * Make a JSONByteWriter that writes the bytes to a stream in blocks of up
+     * to 8192 bytes.
+     * @param out The stream.
+     */
+    public JSONByteWriter(OutputStream out) {
+        this.bytes = new byte[8192];
+        this.out = out;
+    }
+
+
+    /**
+     * Write any pending bytes and close the stream. A high surrogate that is
+     * still waiting is written as '?'.
+     * @throws IOException If the stream cannot be written or closed.
+     */
+    public void close() throws IOException {
+        if (this.pending != 0) {
+            this.pending = 0;
+            room(1);
+            this.bytes[this.count++] = '?';
+        }
+        flush();
+        if (this.out != null) {
+            this.out.close();
+        }
+    }
+
+    /**
+     * Encode a character. If it is a high surrogate, it is held until the
+     * next character.
+     * @param c A character.
+     */
+    private void encode(char c) throws IOException {
+        room(4);
+        byte[] b = this.bytes;
+        int n = this.count;
+        if (this.pending != 0) {
+            if (Character.isLowSurrogate(c)) {
+                int code = Character.toCodePoint(this.pending, c);
+                this.pending = 0;
+                b[n] = (byte)(0xF0 | (code >> 18));
+                b[n + 1] = (byte)(0x80 | ((code >> 12) & 0x3F));
+                b[n + 2] = (byte)(0x80 | ((code >> 6) & 0x3F));
+                b[n + 3] = (byte)(0x80 | (code & 0x3F));
+                this.count = n + 4;
+                return;
+            }
+            this.pending = 0;
+            b[n++] = '?';
+        }
+        if (c < 0x80) {
+            b[n++] = (byte)c;
+        } else if (c < 0x800) {
+            b[n] = (byte)(0xC0 | (c >> 6));
+            b[n + 1] = (byte)(0x80 | (c & 0x3F));
+            n += 2;
+        } else if (Character.isHighSurrogate(c)) {
+            this.pending = c;
+        } else if (Character.isLowSurrogate(c)) {
+            b[n++] = '?';
+        } else {
+            b[n] = (byte)(0xE0 | (c >> 12));
+            b[n + 1] = (byte)(0x80 | ((c >> 6) & 0x3F));
+            b[n + 2] = (byte)(0x80 | (c & 0x3F));
+            n += 3;
+        }
+        this.count = n;
+    }
+
+    /**
+     * Write the pending bytes to the stream and flush it. A JSONByteWriter
+     * without a stream keeps its bytes.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void flush() throws IOException {
+        if (this.out != null) {
+            if (this.count > 0) {
+                this.out.write(this.bytes, 0, this.count);
+                this.count = 0;
+            }
+            this.out.flush();
+        }
+    }
+
+    /**
+     * Empty the byte array so that the JSONByteWriter can be used again. The
+     * array is kept, so its size is not lost.
+     */
+    public void reset() {
+        this.count = 0;
+        this.pending = 0;
+    }
+
+    /**
+     * Make room in the byte array, by writing the pending bytes to the stream
+     * or by growing the array. A stream only empties the array, which may
+     * still be too small for a long run of bytes.
+     * @param length The number of bytes needed.
+     */
+    private void room(int length) throws IOException {
+        if (this.count + length > this.bytes.length) {
+            if (this.out != null) {
+                this.out.write(this.bytes, 0, this.count);
+                this.count = 0;
+            } else {
+                int newLength = Math.max(this.bytes.length << 1,
+                    this.count + length);
+                if (newLength < 0) {
+                    throw new IOException("JSONByteWriter is full.");
+                }
+                byte[] newBytes = new byte[newLength];
+                System.arraycopy(this.bytes, 0, newBytes, 0, this.count);
+                this.bytes = newBytes;
+            }
+        }
+    }
+
+    /**
+     * Get the number of bytes in the byte array.
+     * @return The number of bytes written, less any that have been written
+     *  to the stream.
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Copy the bytes in the byte array.
+     * @return A new byte array.
+     */
+    public byte[] toByteArray() {
+        byte[] result = new byte[this.count];
+        System.arraycopy(this.bytes, 0, result, 0, this.count);
+        return result;
+    }
+
+    /**
+     * Get the bytes in the byte array, without copying them. The buffer is
+     * only good until the next write or reset.
+     * @return A ByteBuffer from position 0 to the number of bytes.
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(this.bytes, 0, this.count);
+    }
+
+    /**
+     * Decode the bytes in the byte array.
+     * @return The text.
+     */
+    public String toString() {
+        try {
+            return new String(this.bytes, 0, this.count, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Write a value as JSON text without whitespace. The value is usually a
+     * JSONObject or a JSONArray, but it can be any value that JSONObject.wrap
+     * can produce.
+     * @param value The value.
+     * @return this
+     * @throws JSONException If the value is a non-finite number, or if the
+     *  stream cannot be written.
+     */
+    public JSONByteWriter value(Object value) throws JSONException {
+        try {
+            JSONObject.writeValue(this, value, 0, 0);
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+        return this;
+    }
+
+    public void write(String string, int offset, int length)
+            throws IOException {
+        int end = offset + length;
+        while (offset < end) {
+            if (this.pending != 0 || string.charAt(offset) >= 0x80) {
+                encode(string.charAt(offset));
+                offset += 1;
+            } else {
+                room(1);
+                byte[] b = this.bytes;
+                int n = this.count;
+                int limit = Math.min(end, offset + b.length - n);
+                char c;
+                while (offset < limit && (c = string.charAt(offset)) < 0x80) {
+                    b[n++] = (byte)c;
+                    offset += 1;
+                }
+                this.count = n;
+            }
+        }
+    }
+
+    public void write(char[] chars, int offset, int length)
+            throws IOException {
+        int end = offset + length;
+        while (offset < end) {
+            if (this.pending != 0 || chars[offset] >= 0x80) {
+                encode(chars[offset]);
+                offset += 1;
+            } else {
+                room(1);
+                byte[] b = this.bytes;
+                int n = this.count;
+                int limit = Math.min(end, offset + b.length - n);
+                char c;
+                while (offset < limit && (c = chars[offset]) < 0x80) {
+                    b[n++] = (byte)c;
+                    offset += 1;
+                }
+                this.count = n;
+            }
+        }
+    }
+
+    public void write(int c) throws IOException {
+        if (c < 0x80 && this.pending == 0) {
+            room(1);
+            this.bytes[this.count++] = (byte)c;
+        } else {
+            encode((char)c);
+        }
+    }
+
+    /**
+     * Write a run of characters that has already been encoded as UTF-8, with
+     * one copy of the bytes.
+     * @param encoded The UTF-8 bytes.
+     * @param chars   The characters, which are encoded again if a high
+     *  surrogate is waiting.
+     * @throws IOException If the stream cannot be written.
+     */
+    void writeEncoded(byte[] encoded, char[] chars) throws IOException {
+        if (this.pending != 0) {
+            write(chars, 0, chars.length);
+            return;
+        }
+        int length = encoded.length;
+        room(length);
+        if (length > this.bytes.length - this.count) {
+            this.out.write(encoded, 0, length);
+        } else {
+            System.arraycopy(encoded, 0, this.bytes, this.count, length);
+            this.count += length;
+        }
+    }
+
+    /**
+     * Write the digits of a long straight into the byte array.
+     * @param value A long.
+     * @throws IOException If the stream cannot be written.
+     */
+    void writeLong(long value) throws IOException {
+        if (this.pending != 0) {
+            write(Long.toString(value));
+            return;
+        }
+        long q = value < 0 ? value : -value;
+        int length = value < 0 ? 2 : 1;
+        for (long p = q / 10; p != 0; p /= 10) {
+            length += 1;
+        }
+        room(length);
+        byte[] b = this.bytes;
+        int i = this.count + length;
+        do {
+            b[--i] = (byte)('0' - (q % 10));
+            q /= 10;
+        } while (q != 0);
+        if (value < 0) {
+            b[--i] = '-';
+        }
+        this.count += length;
+    }
+
+    /**
+     * Write the bytes in the byte array to a stream.
+     * @param stream The stream.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void writeTo(OutputStream stream) throws IOException {
+        stream.write(this.bytes, 0, this.count);
+    }
+
+    /**
+     * Write the bytes in the byte array to a channel, without copying them.
+     * @param channel The channel.
+     * @throws IOException If the channel cannot be written.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = toByteBuffer();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,805 @@
+package org.json;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+
+/**
+ * A JSONColumns holds an array of records, which are objects with mostly
+ * the same members, as one column for each name instead of one JSONObject
+ * for each record. A column of integers is kept as a <code>long[]</code>, a
+ * column of numbers as a <code>double[]</code>, and a column of strings as
+ * an <code>int[]</code> of codes into a dictionary of the distinct strings.
+ * A column that mixes these, or holds booleans, objects or arrays, keeps
+ * its values as they are. Each column has a bitmap of the rows that have a
+ * value. Aggregates such as <code>sum</code>, <code>min</code> and
+ * <code>max</code> run down a single primitive array, with no boxing and no
+ * pointer chasing, and <code>groupSum</code> adds up a column by the codes
+ * of a column of strings. For example, <pre>
+ * JSONColumns orders = new JSONColumns(new JSONTokener(text));
+ * double revenue = orders.sum("amount");
+ * String region = orders.optString(0, "region");</pre>
+ * <p>
+ * A JSONColumns can be made from a JSONArray of JSONObjects, or parsed
+ * straight from a JSONTokener without making a JSONObject for each record.
+ * A row can be had as a JSONObject, which is a copy. A member that is
+ * missing and a member whose value is null are the same in a column. Both
+ * are left out of the rows. A column that mixes integers and fractions is
+ * kept as doubles, so its integers come back as Doubles. A JSONColumns is
+ * not changed once it is made, so it can be shared by many threads.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONColumns {
+
+    /**
+     * The kinds of column. A column is NONE until it gets its first value.
+     */
+    private static final int
+        NONE = 0,
+        LONG = 1,
+        DOUBLE = 2,
+        STRING = 3,
+        OBJECT = 4;
+
+    /**
+     * A column: the values of one name in every row.
+     */
+    private static final class Column {
+
+        /**
+         * The codes of a STRING column.
+         */
+        int[] codes;
+
+        /**
+         * The distinct strings of a STRING column, in order of first use.
+         */
+        ArrayList dictionary;
+
+        /**
+         * The codes of the distinct strings, while the column is being
+         * built.
+         */
+        HashMap dictionaryIndex;
+
+        /**
+         * The values of a DOUBLE column.
+         */
+        double[] doubles;
+
+        int kind;
+
+        /**
+         * The values of a LONG column.
+         */
+        long[] longs;
+
+        final String name;
+
+        /**
+         * The values of an OBJECT column.
+         */
+        Object[] objects;
+
+        /**
+         * A bit for each row, set if the row has a value.
+         */
+        long[] present;
+
+        Column(String name, int capacity) {
+            this.name = name;
+            this.present = new long[(capacity + 63) >>> 6];
+        }
+
+        /**
+         * Make room for a number of rows.
+         * @param capacity The number of rows.
+         */
+        void ensure(int capacity) {
+            if ((capacity + 63) >>> 6 > this.present.length) {
+                long[] newPresent = new long[Math.max(this.present.length * 2,
+                    (capacity + 63) >>> 6)];
+                System.arraycopy(this.present, 0, newPresent, 0,
+                    this.present.length);
+                this.present = newPresent;
+            }
+            int length = this.present.length << 6;
+            switch (this.kind) {
+            case LONG:
+                if (this.longs.length < capacity) {
+                    long[] newLongs = new long[length];
+                    System.arraycopy(this.longs, 0, newLongs, 0, this.longs.length);
+                    this.longs = newLongs;
+                }
+                break;
+            case DOUBLE:
+                if (this.doubles.length < capacity) {
+                    double[] newDoubles = new double[length];
+                    System.arraycopy(this.doubles, 0, newDoubles, 0,
+                        this.doubles.length);
+                    this.doubles = newDoubles;
+                }
+                break;
+            case STRING:
+                if (this.codes.length < capacity) {
+                    int[] newCodes = new int[length];
+                    System.arraycopy(this.codes, 0, newCodes, 0, this.codes.length);
+                    this.codes = newCodes;
+                }
+                break;
+            case OBJECT:
+                if (this.objects.length < capacity) {
+                    Object[] newObjects = new Object[length];
+                    System.arraycopy(this.objects, 0, newObjects, 0,
+                        this.objects.length);
+                    this.objects = newObjects;
+                }
+                break;
+            }
+        }
+
+        /**
+         * Get the value of a row.
+         * @param row A row that has a value.
+         * @return The value.
+         */
+        Object get(int row) {
+            switch (this.kind) {
+            case LONG:
+                long l = this.longs[row];
+                return l == (int)l
+                    ? (Object)Integer.valueOf((int)l)
+                    : Long.valueOf(l);
+            case DOUBLE:
+                return Double.valueOf(this.doubles[row]);
+            case STRING:
+                return this.dictionary.get(this.codes[row]);
+            default:
+                return this.objects[row];
+            }
+        }
+
+        boolean has(int row) {
+            return row >= 0 && (row >>> 6) < this.present.length &&
+                (this.present[row >>> 6] & (1L << row)) != 0;
+        }
+
+        /**
+         * Change the kind of the column, converting the values it has.
+         * @param kind     DOUBLE or OBJECT.
+         * @param capacity The number of rows to make room for.
+         */
+        void promote(int kind, int capacity) {
+            int length = this.present.length << 6;
+            if (kind == DOUBLE) {
+                this.doubles = new double[length];
+                for (int row = 0; row < capacity; row += 1) {
+                    if (has(row)) {
+                        this.doubles[row] = this.longs[row];
+                    }
+                }
+                this.longs = null;
+            } else {
+                Object[] newObjects = new Object[length];
+                for (int row = 0; row < capacity; row += 1) {
+                    if (has(row)) {
+                        newObjects[row] = get(row);
+                    }
+                }
+                this.objects = newObjects;
+                this.longs = null;
+                this.doubles = null;
+                this.codes = null;
+                this.dictionary = null;
+                this.dictionaryIndex = null;
+            }
+            this.kind = kind;
+        }
+
+        /**
+         * Set the value of a row.
+         * @param row   A row, below the capacity.
+         * @param value A value, not null or JSONObject.NULL.
+         */
+        void set(int row, Object value) {
+            if (value instanceof JSONNumber) {
+                value = ((JSONNumber)value).getValue();
+            }
+            int want = value instanceof Integer || value instanceof Long
+                ? LONG
+                : value instanceof Number
+                ? DOUBLE
+                : value instanceof String
+                ? STRING
+                : OBJECT;
+            if (this.kind == NONE) {
+                int length = this.present.length << 6;
+                switch (want) {
+                case LONG:
+                    this.longs = new long[length];
+                    break;
+                case DOUBLE:
+                    this.doubles = new double[length];
+                    break;
+                case STRING:
+                    this.codes = new int[length];
+                    this.dictionary = new ArrayList();
+                    this.dictionaryIndex = new HashMap();
+                    break;
+                default:
+                    this.objects = new Object[length];
+                }
+                this.kind = want;
+            } else if (this.kind != want && this.kind != OBJECT &&
+                    (this.kind != DOUBLE || want != LONG)) {
+                promote(this.kind == LONG && want == DOUBLE ? DOUBLE : OBJECT, row);
+            }
+            switch (this.kind) {
+            case LONG:
+                this.longs[row] = ((Number)value).longValue();
+                break;
+            case DOUBLE:
+                this.doubles[row] = ((Number)value).doubleValue();
+                break;
+            case STRING:
+                Integer code = (Integer)this.dictionaryIndex.get(value);
+                if (code == null) {
+                    code = Integer.valueOf(this.dictionary.size());
+                    this.dictionary.add(value);
+                    this.dictionaryIndex.put(value, code);
+                }
+                this.codes[row] = code.intValue();
+                break;
+            default:
+                this.objects[row] = value;
+            }
+            this.present[row >>> 6] |= 1L << row;
+        }
+    }
+
+    /**
+     * The columns, in the order their names were first seen.
+     */
+    private final ArrayList columns;
+
+    /**
+     * The columns by name.
+     */
+    private final HashMap index;
+
+    /**
+     * The number of rows.
+     */
+    private int length;
+
+
+    /**
+     * Construct a JSONColumns from a JSONArray of JSONObjects.
+     * @param array A JSONArray whose elements are JSONObjects.
+     * @throws JSONException If an element is not a JSONObject.
+     */
+    public JSONColumns(JSONArray array) throws JSONException {
+        this.columns = new ArrayList();
+        this.index = new HashMap();
+        int rows = array.length();
+        for (int row = 0; row < rows; row += 1) {
+            JSONObject jo = array.getJSONObject(row);
+            Iterator keys = jo.keys();
+            while (keys.hasNext()) {
+                String key = keys.next().toString();
+                put(row, key, jo.opt(key));
+            }
+            this.length = row + 1;
+        }
+        finish();
+    }
+
+
+    /**
+     * Construct a JSONColumns from the next array of a JSONTokener. Each
+     * element of the array must be an object. Its members are put straight
+     * into the columns.
+     * @param x A JSONTokener.
+     * @throws JSONException If there is a syntax error, or an element is not
+     *  an object.
+     */
+    public JSONColumns(JSONTokener x) throws JSONException {
+        this.columns = new ArrayList();
+        this.index = new HashMap();
+        if (x.nextClean() != '[') {
+            throw x.syntaxError("A JSONArray text must start with '['");
+        }
+        if (x.nextClean() != ']') {
+            x.back();
+            for (;;) {
+                if (x.nextClean() != '{') {
+                    throw x.syntaxError("A JSONObject text must begin with '{'");
+                }
+                record(x, this.length);
+                this.length += 1;
+                char c = x.nextClean();
+                if (c == ';' || c == ',') {
+                    if (x.nextClean() == ']') {
+                        break;
+                    }
+                    x.back();
+                } else if (c == ']') {
+                    break;
+                } else {
+                    throw x.syntaxError("Expected a ',' or ']'");
+                }
+            }
+        }
+        finish();
+    }
+
+
+    /**
+     * Let go of what was only needed while the columns were being built.
+     */
+    private void finish() {
+        for (int i = 0; i < this.columns.size(); i += 1) {
+            ((Column)this.columns.get(i)).dictionaryIndex = null;
+        }
+    }
+
+
+    /**
+     * Put a value into a column, making the column if it is new.
+     * @param row   The row.
+     * @param name  The name of the column.
+     * @param value The value, or null.
+     */
+    private void put(int row, String name, Object value) {
+        if (value == null || value == JSONObject.NULL) {
+            return;
+        }
+        Column column = (Column)this.index.get(name);
+        if (column == null) {
+            column = new Column(name, row + 1);
+            this.columns.add(column);
+            this.index.put(name, column);
+        }
+        column.ensure(row + 1);
+        column.set(row, value);
+    }
+
+
+    /**
+     * Parse the rest of a record, after its '{', into a row.
+     * @param x   A JSONTokener.
+     * @param row The row.
+     * @throws JSONException If there is a syntax error.
+     */
+    private void record(JSONTokener x, int row) throws JSONException {
+        for (;;) {
+            char c = x.nextClean();
+            switch (c) {
+            case 0:
+                throw x.syntaxError("A JSONObject text must end with '}'");
+            case '}':
+                return;
+            default:
+                x.back();
+            }
+            String key = x.nextKey();
+
+// The key is followed by ':'. We will also tolerate '=' or '=>'.
+
+            c = x.nextClean();
+            if (c == '=') {
+                if (x.next() != '>') {
+                    x.back();
+                }
+            } else if (c != ':') {
+                throw x.syntaxError("Expected a ':' after a key");
+            }
+            Object value = x.nextValue();
+            JSONObject.testValidity(value);
+            Column column = (Column)this.index.get(key);
+            if (column != null && column.has(row)) {
+                throw new JSONException("Duplicate key \"" + key + "\"");
+            }
+            put(row, key, value);
+
+// Pairs are separated by ','. We will also tolerate ';'.
+
+            switch (x.nextClean()) {
+            case ';':
+            case ',':
+                if (x.nextClean() == '}') {
+                    return;
+                }
+                x.back();
+                break;
+            case '}':
+                return;
+            default:
+                throw x.syntaxError("Expected a ',' or '}'");
+            }
+        }
+    }
+
+
+    /**
+     * Count the rows that have a value for a name.
+     * @param name The name of a column.
+     * @return The number of rows with a value.
+     */
+    public int count(String name) {
+        Column column = (Column)this.index.get(name);
+        int count = 0;
+        if (column != null) {
+            for (int i = 0; i < column.present.length; i += 1) {
+                count += Long.bitCount(column.present[i]);
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * Get a row as a JSONObject. The JSONObject is a copy: changing it does
+     * not change the columns.
+     * @param row The row must be between 0 and length() - 1.
+     * @return A JSONObject.
+     * @throws JSONException If there is no such row.
+     */
+    public JSONObject getJSONObject(int row) throws JSONException {
+        if (row < 0 || row >= this.length) {
+            throw new JSONException("JSONColumns[" + row + "] not found.");
+        }
+        JSONObject jo = new JSONObject();
+        for (int i = 0; i < this.columns.size(); i += 1) {
+            Column column = (Column)this.columns.get(i);
+            if (column.has(row)) {
+                jo.put(column.name, column.get(row));
+            }
+        }
+        return jo;
+    }
+
+
+    /**
+     * Add up the numbers in one column for each distinct value of another,
+     * like SQL's <code>SELECT key, SUM(value) ... GROUP BY key</code>. A
+     * column of strings is grouped by its dictionary codes, so no string is
+     * hashed for each row. Other values are grouped by their strings. Rows
+     * with no key are left out. A key whose rows have no numbers sums to 0.
+     * The integers of a column of integers are added as longs.
+     * @param keyName   The name of the column to group by.
+     * @param valueName The name of the column to add up.
+     * @return A JSONObject of the sums by key.
+     * @throws JSONException If a sum is not finite.
+     */
+    public JSONObject groupSum(String keyName, String valueName)
+            throws JSONException {
+        JSONObject jo = new JSONObject();
+        Column keys = (Column)this.index.get(keyName);
+        if (keys == null) {
+            return jo;
+        }
+        Column values = (Column)this.index.get(valueName);
+        int rows = Math.min(this.length, keys.present.length << 6);
+        int[] codes;
+        ArrayList names;
+        if (keys.kind == STRING) {
+            codes = keys.codes;
+            names = keys.dictionary;
+        } else {
+            codes = new int[rows];
+            names = new ArrayList();
+            HashMap groups = new HashMap();
+            for (int row = 0; row < rows; row += 1) {
+                if (keys.has(row)) {
+                    String name = keys.get(row).toString();
+                    Integer code = (Integer)groups.get(name);
+                    if (code == null) {
+                        code = Integer.valueOf(names.size());
+                        names.add(name);
+                        groups.put(name, code);
+                    }
+                    codes[row] = code.intValue();
+                }
+            }
+        }
+        long[] longs = new long[names.size()];
+        double[] doubles = new double[names.size()];
+        int kind = values == null ? NONE : values.kind;
+        for (int row = 0; row < rows; row += 1) {
+            if (keys.has(row) && kind != NONE && values.has(row)) {
+                switch (kind) {
+                case LONG:
+                    longs[codes[row]] += values.longs[row];
+                    break;
+                case DOUBLE:
+                    doubles[codes[row]] += values.doubles[row];
+                    break;
+                case OBJECT:
+                    if (values.objects[row] instanceof Number) {
+                        doubles[codes[row]] +=
+                            ((Number)values.objects[row]).doubleValue();
+                    }
+                    break;
+                }
+            }
+        }
+        for (int code = 0; code < names.size(); code += 1) {
+            String name = (String)names.get(code);
+            if (kind == LONG) {
+                jo.put(name, longs[code]);
+            } else {
+                jo.put(name, doubles[code]);
+            }
+        }
+        return jo;
+    }
+
+
+    /**
+     * Determine if a row has no value for a name.
+     * @param row  A row.
+     * @param name The name of a column.
+     * @return true if there is no value, or if it was null.
+     */
+    public boolean isNull(int row, String name) {
+        return opt(row, name) == null;
+    }
+
+
+    /**
+     * Get the number of rows.
+     * @return The length.
+     */
+    public int length() {
+        return this.length;
+    }
+
+
+    /**
+     * Find the largest number in a column.
+     * @param name The name of a column.
+     * @return The largest number, or NaN if the column has no numbers.
+     */
+    public double max(String name) {
+        return extreme(name, true);
+    }
+
+
+    /**
+     * Find the smallest number in a column.
+     * @param name The name of a column.
+     * @return The smallest number, or NaN if the column has no numbers.
+     */
+    public double min(String name) {
+        return extreme(name, false);
+    }
+
+
+    /**
+     * Find the largest or smallest number in a column.
+     * @param name    The name of a column.
+     * @param largest true for the largest, false for the smallest.
+     * @return The number, or NaN if the column has no numbers.
+     */
+    private double extreme(String name, boolean largest) {
+        Column column = (Column)this.index.get(name);
+        if (column == null) {
+            return Double.NaN;
+        }
+        boolean found = false;
+        double result = Double.NaN;
+        int rows = Math.min(this.length, column.present.length << 6);
+        for (int row = 0; row < rows; row += 1) {
+            if ((column.present[row >>> 6] & (1L << row)) != 0) {
+                double d;
+                switch (column.kind) {
+                case LONG:
+                    d = column.longs[row];
+                    break;
+                case DOUBLE:
+                    d = column.doubles[row];
+                    break;
+                case OBJECT:
+                    if (!(column.objects[row] instanceof Number)) {
+                        continue;
+                    }
+                    d = ((Number)column.objects[row]).doubleValue();
+                    break;
+                default:
+                    return Double.NaN;
+                }
+                if (!found || (largest ? d > result : d < result)) {
+                    result = d;
+                    found = true;
+                }
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Produce a JSONArray containing the names of the columns, in the order
+     * they were first seen.
+     * @return A JSONArray of names, or null if there are no columns.
+     */
+    public JSONArray names() {
+        if (this.columns.isEmpty()) {
+            return null;
+        }
+        JSONArray ja = new JSONArray();
+        for (int i = 0; i < this.columns.size(); i += 1) {
+            ja.put(((Column)this.columns.get(i)).name);
+        }
+        return ja;
+    }
+
+
+    /**
+     * Get the value of a row for a name.
+     * @param row  A row.
+     * @param name The name of a column.
+     * @return The value, or null if there is none.
+     */
+    public Object opt(int row, String name) {
+        Column column = (Column)this.index.get(name);
+        return column != null && row < this.length && column.has(row)
+            ? column.get(row)
+            : null;
+    }
+
+
+    /**
+     * Get the double value of a row for a name, or NaN if there is no value
+     * or it is not a number.
+     * @param row  A row.
+     * @param name The name of a column.
+     * @return The value.
+     */
+    public double optDouble(int row, String name) {
+        Object value = opt(row, name);
+        return value instanceof Number
+            ? ((Number)value).doubleValue()
+            : Double.NaN;
+    }
+
+
+    /**
+     * Get the long value of a row for a name, or zero if there is no value
+     * or it is not a number.
+     * @param row  A row.
+     * @param name The name of a column.
+     * @return The value.
+     */
+    public long optLong(int row, String name) {
+        Column column = (Column)this.index.get(name);
+        if (column != null && row < this.length && column.has(row)) {
+            switch (column.kind) {
+            case LONG:
+                return column.longs[row];
+            case DOUBLE:
+                return (long)column.doubles[row];
+            case OBJECT:
+                if (column.objects[row] instanceof Number) {
+                    return ((Number)column.objects[row]).longValue();
+                }
+            }
+        }
+        return 0;
+    }
+
+
+    /**
+     * Get the string value of a row for a name. It returns an empty string
+     * if there is no value. If the value is not a string, then it is
+     * converted to a string.
+     * @param row  A row.
+     * @param name The name of a column.
+     * @return A string which is the value.
+     */
+    public String optString(int row, String name) {
+        Object value = opt(row, name);
+        return value == null ? "" : value.toString();
+    }
+
+
+    /**
+     * Add up the numbers in a column. The integers of a column of integers
+     * are added as longs.
+     * @param name The name of a column.
+     * @return The sum, which is 0 if the column has no numbers.
+     */
+    public double sum(String name) {
+        Column column = (Column)this.index.get(name);
+        if (column == null) {
+            return 0;
+        }
+        long[] present = column.present;
+        int rows = Math.min(this.length, present.length << 6);
+        switch (column.kind) {
+        case LONG:
+            long[] longs = column.longs;
+            long total = 0;
+            for (int row = 0; row < rows; row += 1) {
+                if ((present[row >>> 6] & (1L << row)) != 0) {
+                    total += longs[row];
+                }
+            }
+            return total;
+        case DOUBLE:
+            double[] doubles = column.doubles;
+            double sum = 0;
+            for (int row = 0; row < rows; row += 1) {
+                if ((present[row >>> 6] & (1L << row)) != 0) {
+                    sum += doubles[row];
+                }
+            }
+            return sum;
+        case OBJECT:
+            sum = 0;
+            for (int row = 0; row < rows; row += 1) {
+                if (column.objects[row] instanceof Number) {
+                    sum += ((Number)column.objects[row]).doubleValue();
+                }
+            }
+            return sum;
+        default:
+            return 0;
+        }
+    }
+
+
+    /**
+     * Make a JSONArray of the rows, each as a JSONObject.
+     * @return A JSONArray.
+     */
+    public JSONArray toJSONArray() {
+        JSONArray ja = new JSONArray();
+        try {
+            for (int row = 0; row < this.length; row += 1) {
+                ja.put(getJSONObject(row));
+            }
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+        return ja;
+    }
+
+
+    /**
+     * Make a JSON text of the rows.
+     * @return a printable, displayable, transmittable
+     *  representation of the rows.
+     */
+    public String toString() {
+        return toJSONArray().toString();
+    }
+}
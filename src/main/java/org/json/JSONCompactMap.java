@@ -0,0 +1,450 @@
+package org.json;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONCompactMap is the Map that holds the members of a JSONObject. Its
+ * keys and values are kept in two arrays in the order they were put, with no
+ * object for each entry. A small map, which is what most objects in JSON
+ * texts are, is searched from the front. A map with more than
+ * <code>THRESHOLD</code> members also has an open addressing table of
+ * indexes into the arrays. Removing a member closes the hole, so it costs
+ * time in proportion to the size of the map.
+ * <p>
+ * Maps that have the same keys in the same order, such as the records of a
+ * large array, can share one key array and table and keep only their own
+ * values. A JSONTokener does this for the objects it parses by way of
+ * <code>shareKeys</code>. A map that shares its keys copies them the first
+ * time a key is added or removed.
+ * <p>
+ * Keys cannot be null. A JSONCompactMap is not synchronized.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+final class JSONCompactMap extends AbstractMap {
+
+    /**
+     * The size above which a map keeps a table of indexes.
+     */
+    static final int THRESHOLD = 8;
+
+    /**
+     * true if the keys and table may be shared with other maps, so that
+     * they must be copied before they are changed.
+     */
+    private boolean shared;
+
+    /**
+     * The keys, in the order they were put.
+     */
+    private Object[] keys;
+
+    /**
+     * The number of members.
+     */
+    private int size;
+
+    /**
+     * The open addressing table, or null if the map is small. Each slot
+     * holds the index of a member plus one, or 0 if it is empty. Its
+     * length is a power of two at least twice the length of keys.
+     */
+    private int[] table;
+
+    /**
+     * The values, parallel to the keys.
+     */
+    private Object[] values;
+
+
+    /**
+     * An entry of the map. Setting its value puts it into the map.
+     */
+    private final class Member extends AbstractMap.SimpleEntry {
+
+        private static final long serialVersionUID = 1L;
+
+        Member(int index) {
+            super(keys[index], values[index]);
+        }
+
+        public Object setValue(Object value) {
+            super.setValue(value);
+            return put(getKey(), value);
+        }
+    }
+
+
+    /**
+     * An iterator over the keys, values or entries.
+     */
+    private final class Members implements Iterator {
+
+        /**
+         * 0 for keys, 1 for values, or 2 for entries.
+         */
+        private final int kind;
+
+        /**
+         * The index of the member returned by the last call to next, or -1.
+         */
+        private int last = -1;
+
+        /**
+         * The index of the next member.
+         */
+        private int next;
+
+        Members(int kind) {
+            this.kind = kind;
+        }
+
+        public boolean hasNext() {
+            return this.next < size;
+        }
+
+        public Object next() {
+            if (this.next >= size) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next;
+            this.next += 1;
+            switch (this.kind) {
+            case 0:
+                return keys[this.last];
+            case 1:
+                return values[this.last];
+            default:
+                return new Member(this.last);
+            }
+        }
+
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(this.last);
+            this.next = this.last;
+            this.last = -1;
+        }
+    }
+
+
+    /**
+     * Construct an empty JSONCompactMap.
+     */
+    JSONCompactMap() {
+        this.keys = new Object[4];
+        this.values = new Object[4];
+    }
+
+
+    public void clear() {
+        own();
+        for (int i = 0; i < this.size; i += 1) {
+            this.keys[i] = null;
+            this.values[i] = null;
+        }
+        this.size = 0;
+        this.table = null;
+    }
+
+
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+
+    public Set entrySet() {
+        return new AbstractSet() {
+            public Iterator iterator() {
+                return new Members(2);
+            }
+
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+
+    public Object get(Object key) {
+        int i = indexOf(key);
+        return i >= 0 ? this.values[i] : null;
+    }
+
+
+    /**
+     * Spread the bits of a hash code, so that keys that differ only in
+     * their high bits do not all land in the same slot.
+     * @param key A key.
+     * @return The spread hash code.
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+
+    /**
+     * Find a key.
+     * @param key A key, or null.
+     * @return The index of the member, or -1 if there is none.
+     */
+    private int indexOf(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        int h = key.hashCode();
+        if (this.table == null) {
+            for (int i = 0; i < this.size; i += 1) {
+                Object k = this.keys[i];
+                if (k == key || (k.hashCode() == h && k.equals(key))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = this.table.length - 1;
+        int slot = (h ^ (h >>> 16)) & mask;
+        for (;;) {
+            int i = this.table[slot] - 1;
+            if (i < 0) {
+                return -1;
+            }
+            Object k = this.keys[i];
+            if (k == key || (k.hashCode() == h && k.equals(key))) {
+                return i;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+
+    public Set keySet() {
+        return new AbstractSet() {
+            public boolean contains(Object key) {
+                return indexOf(key) >= 0;
+            }
+
+            public Iterator iterator() {
+                return new Members(0);
+            }
+
+            public boolean remove(Object key) {
+                int i = indexOf(key);
+                if (i < 0) {
+                    return false;
+                }
+                removeAt(i);
+                return true;
+            }
+
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+
+    /**
+     * Stop sharing the keys and table, by copying them.
+     */
+    private void own() {
+        if (this.shared) {
+            Object[] newKeys = new Object[this.values.length];
+            System.arraycopy(this.keys, 0, newKeys, 0, this.size);
+            this.keys = newKeys;
+            if (this.table != null) {
+                this.table = new int[this.keys.length * 2];
+                rehash();
+            }
+            this.shared = false;
+        }
+    }
+
+
+    /**
+     * Put a key and value.
+     * @param key   A key, which must not be null.
+     * @param value A value.
+     * @return The previous value, or null.
+     * @throws NullPointerException If the key is null.
+     */
+    public Object put(Object key, Object value) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        int i = indexOf(key);
+        if (i >= 0) {
+            Object previous = this.values[i];
+            this.values[i] = value;
+            return previous;
+        }
+        own();
+        if (this.size == this.values.length) {
+            Object[] newKeys = new Object[this.size * 2];
+            Object[] newValues = new Object[this.size * 2];
+            System.arraycopy(this.keys, 0, newKeys, 0, this.size);
+            System.arraycopy(this.values, 0, newValues, 0, this.size);
+            this.keys = newKeys;
+            this.values = newValues;
+            if (this.table != null) {
+                this.table = new int[this.keys.length * 2];
+                rehash();
+            }
+        }
+        this.keys[this.size] = key;
+        this.values[this.size] = value;
+        this.size += 1;
+        if (this.table != null) {
+            slot(this.size - 1);
+        } else if (this.size > THRESHOLD) {
+            this.table = new int[this.keys.length * 2];
+            rehash();
+        }
+        return null;
+    }
+
+
+    /**
+     * Put every member into the table.
+     */
+    private void rehash() {
+        for (int i = 0; i < this.size; i += 1) {
+            slot(i);
+        }
+    }
+
+
+    public Object remove(Object key) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        Object previous = this.values[i];
+        removeAt(i);
+        return previous;
+    }
+
+
+    /**
+     * Remove a member and close the hole it leaves.
+     * @param index The index of the member.
+     */
+    private void removeAt(int index) {
+        own();
+        int move = this.size - index - 1;
+        System.arraycopy(this.keys, index + 1, this.keys, index, move);
+        System.arraycopy(this.values, index + 1, this.values, index, move);
+        this.size -= 1;
+        this.keys[this.size] = null;
+        this.values[this.size] = null;
+        if (this.table != null) {
+            if (this.size > THRESHOLD) {
+                for (int i = 0; i < this.table.length; i += 1) {
+                    this.table[i] = 0;
+                }
+                rehash();
+            } else {
+                this.table = null;
+            }
+        }
+    }
+
+
+    /**
+     * Share the keys and table of a map that has the same keys in the same
+     * order, if one is found in a cache of recently made maps. Otherwise
+     * this map is put in the cache, in the place of the map with the same
+     * hash of its keys.
+     * @param shapes The cache. Its length must be a power of two.
+     */
+    void shareKeys(JSONCompactMap[] shapes) {
+        int h = this.size;
+        for (int i = 0; i < this.size; i += 1) {
+            h = 31 * h + this.keys[i].hashCode();
+        }
+        int slot = (h ^ (h >>> 16)) & (shapes.length - 1);
+        JSONCompactMap shape = shapes[slot];
+        if (shape != null && shape != this && shape.size == this.size) {
+            int i = 0;
+            while (i < this.size && (shape.keys[i] == this.keys[i] ||
+                    shape.keys[i].equals(this.keys[i]))) {
+                i += 1;
+            }
+            if (i == this.size) {
+                this.keys = shape.keys;
+                this.table = shape.table;
+                this.shared = true;
+                shape.shared = true;
+                return;
+            }
+        }
+        shapes[slot] = this;
+    }
+
+
+    public int size() {
+        return this.size;
+    }
+
+
+    /**
+     * Put a member into the first free slot of the table at or after the
+     * slot of its key.
+     * @param index The index of the member.
+     */
+    private void slot(int index) {
+        int mask = this.table.length - 1;
+        int slot = hash(this.keys[index]) & mask;
+        while (this.table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = index + 1;
+    }
+
+
+    public Collection values() {
+        return new AbstractCollection() {
+            public Iterator iterator() {
+                return new Members(1);
+            }
+
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -19,6 +19,17 @@ public class JSONException extends Exception {
         super(message);
     }
 
+    /**
+     * Constructs a JSONException with an explanatory message and the
+     * exception that caused it.
+     * @param message Detail about the reason for the exception.
+     * @param cause   The cause.
+     */
+    public JSONException(String message, Throwable cause) {
+        super(message);
+        this.cause = cause;
+    }
+
     public JSONException(Throwable cause) {
         super(cause.getMessage());
         this.cause = cause;
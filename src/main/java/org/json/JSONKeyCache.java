@@ -0,0 +1,162 @@
+package org.json;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+
+/**
+ * A JSONKeyCache holds keys already quoted and followed by a colon, as
+ * characters and as UTF-8 bytes, so that writing a key that has been written
+ * before is one bulk copy instead of another pass of quote.
+ * <p>
+ * The table is two-way set associative: each key has a set of two entries,
+ * chosen by its hash, so two busy keys that share a set are both kept. A new
+ * entry takes the place of the older of the two. A key is only given an
+ * entry when it is written again soon after, so keys that are never
+ * repeated, such as ids used as keys, cost nothing more than a quote and do
+ * not push out the keys that are. Keys recently written are remembered by
+ * hash in a separate, larger table that is indexed differently, so a key
+ * written once seldom stops another key in the same set from being admitted.
+ * <p>
+ * Like a JSONStringCache, one cache is shared by every thread and no locks
+ * are taken. The entries are immutable, so a thread that reads a stale entry
+ * only misses, and a lost update to the table of hashes only delays an
+ * admission. Long keys are not cached.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+final class JSONKeyCache {
+
+    /**
+     * A key with its quoted forms.
+     */
+    private static final class Entry {
+        final byte[] bytes;
+        final char[] chars;
+        final String key;
+
+        Entry(String key, char[] chars, byte[] bytes) {
+            this.bytes = bytes;
+            this.chars = chars;
+            this.key = key;
+        }
+    }
+
+    private final Entry[] entries;
+    private final int     mask;
+    private final int     maxLength;
+
+    /**
+     * The hashes of keys recently written that are not cached, twice as many
+     * as there are entries.
+     */
+    private final int[]   seen;
+
+    /**
+     * The shift that takes the top bits of a scrambled hash as an index into
+     * seen.
+     */
+    private final int     shift;
+
+    /**
+     * Make a JSONKeyCache.
+     * @param size      The number of entries, rounded up to a power of two.
+     * @param maxLength The length of the longest key to cache.
+     */
+    JSONKeyCache(int size, int maxLength) {
+        int sets = 1;
+        while (sets * 2 < size && sets < (1 << 29)) {
+            sets <<= 1;
+        }
+        this.entries = new Entry[sets * 2];
+        this.seen = new int[sets * 4];
+        this.shift = Integer.numberOfLeadingZeros(sets * 4) + 1;
+        this.mask = sets - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Get the entry for a key, admitting the key if it has been seen
+     * recently.
+     * @param key The key.
+     * @return The entry, or null if the key is not cached.
+     */
+    private Entry get(String key) {
+        if (key.length() > maxLength) {
+            return null;
+        }
+        int hash = key.hashCode();
+        int set = ((hash ^ (hash >>> 16)) & mask) << 1;
+        Entry first = entries[set];
+        if (first != null && key.equals(first.key)) {
+            return first;
+        }
+        Entry second = entries[set + 1];
+        if (second != null && key.equals(second.key)) {
+            return second;
+        }
+        int index = (hash * 0x9E3779B9) >>> shift;
+        if (seen[index] != hash) {
+            seen[index] = hash;
+            return null;
+        }
+        seen[index] = 0;
+        String quoted = JSONObject.quote(key) + ':';
+        byte[] bytes;
+        try {
+            bytes = quoted.getBytes("UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            return null;
+        }
+        Entry entry = new Entry(key, quoted.toCharArray(), bytes);
+        entries[set + 1] = first;
+        entries[set] = entry;
+        return entry;
+    }
+
+    /**
+     * Write a key in quotes, followed by a colon. A JSONByteWriter is given
+     * the UTF-8 bytes, and any other Writer is given the characters. A key
+     * that is not cached is quoted straight into the Writer.
+     * @param writer The Writer.
+     * @param key    The key.
+     * @throws IOException If the Writer cannot be written.
+     */
+    void write(Writer writer, String key) throws IOException {
+        Entry entry = get(key);
+        if (entry == null) {
+            JSONObject.quote(key, writer);
+            writer.write(':');
+        } else if (writer instanceof JSONByteWriter) {
+            ((JSONByteWriter)writer).writeEncoded(entry.bytes, entry.chars);
+        } else {
+            writer.write(entry.chars, 0, entry.chars.length);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package org.json;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONLazyValue is an object or array nested in a JSONObject or JSONArray
+ * that has not been parsed yet. A JSONTokener makes them instead of
+ * JSONObjects and JSONArrays when <code>setLazyValues(true)</code> has been
+ * called, and the JSONObject or JSONArray holding one replaces it with the
+ * parsed value the first time it is asked for. Until then it is only a range
+ * of the source, and when it is written without indentation it is copied
+ * from there as long as it is strict JSON. An object with a duplicate key,
+ * or with a key that has an escape, is not copied; it is parsed, so the
+ * duplicate is reported as it would have been by an eager parse.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+final class JSONLazyValue implements JSONString {
+
+    /**
+     * The index after the last character of the value.
+     */
+    private final int end;
+
+    /**
+     * The source, shared with the tokener that made this value.
+     */
+    private final char[] source;
+
+    /**
+     * The index of the first character of the value.
+     */
+    private final int start;
+
+    /**
+     * The parsed value, or null if it has not been parsed yet.
+     */
+    private Object value;
+
+    /**
+     * The syntax error found when the value was parsed, or null.
+     */
+    private JSONException error;
+
+    /**
+     * 1 if the value has been found to be strict JSON, -1 if it has been
+     * found not to be, or 0 if it has not been checked yet.
+     */
+    private int strict;
+
+    /**
+     * A tokener for the range of the source, with the settings of the
+     * tokener that made this value.
+     */
+    private final JSONTokener x;
+
+
+    /**
+     * Construct a JSONLazyValue.
+     * @param x      A JSONTokener that reads the value.
+     * @param source The source characters.
+     * @param start  The index of the first character of the value.
+     * @param end    The index after the last character of the value.
+     */
+    JSONLazyValue(JSONTokener x, char[] source, int start, int end) {
+        this.x = x;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+
+    /**
+     * Determine if the value is strict JSON, so that it can be copied from
+     * the source when it is written.
+     * @return true if it is strict JSON.
+     */
+    private boolean isStrict() {
+        if (this.strict == 0) {
+            this.strict = skipWhite(value(this.start)) == this.end ? 1 : -1;
+        }
+        return this.strict > 0;
+    }
+
+
+    /**
+     * Get a key of an object for the duplicate check.
+     * @param start The index after the opening quote.
+     * @param end   The index of the closing quote.
+     * @return The key, or null if it has an escape and so cannot be compared
+     *  as it is.
+     */
+    private String key(int start, int end) {
+        for (int i = start; i < end; i += 1) {
+            if (this.source[i] == '\\') {
+                return null;
+            }
+        }
+        return new String(this.source, start, end - start);
+    }
+
+
+    /**
+     * Parse the value, or return it if it has already been parsed.
+     * @return A JSONObject or JSONArray.
+     * @throws JSONException If there is a syntax error.
+     */
+    synchronized Object parse() throws JSONException {
+        if (this.value == null && this.error == null) {
+            try {
+                this.value = this.source[this.start] == '{'
+                    ? (Object)new JSONObject(this.x)
+                    : new JSONArray(this.x);
+            } catch (JSONException e) {
+                this.error = e;
+            }
+        }
+        if (this.error != null) {
+            throw this.error;
+        }
+        return this.value;
+    }
+
+
+    /**
+     * Skip the digits at an index.
+     * @param i An index.
+     * @return The index after the digits, or -1 if there are none.
+     */
+    private int skipDigits(int i) {
+        int first = i;
+        while (i < this.end && this.source[i] >= '0' && this.source[i] <= '9') {
+            i += 1;
+        }
+        return i > first ? i : -1;
+    }
+
+
+    /**
+     * Skip the whitespace at an index.
+     * @param i An index, or -1.
+     * @return The index of the next character that is not whitespace, or -1.
+     */
+    private int skipWhite(int i) {
+        if (i < 0) {
+            return -1;
+        }
+        while (i < this.end) {
+            char c = this.source[i];
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                break;
+            }
+            i += 1;
+        }
+        return i;
+    }
+
+
+    /**
+     * Check a strict JSON string.
+     * @param i The index after the opening quote.
+     * @return The index after the closing quote, or -1 if it is not a strict
+     *  JSON string.
+     */
+    private int string(int i) {
+        while (i < this.end) {
+            char c = this.source[i];
+            i += 1;
+            if (c == '"') {
+                return i;
+            }
+            if (c < ' ') {
+                return -1;
+            }
+            if (c == '\\') {
+                if (i == this.end) {
+                    return -1;
+                }
+                c = this.source[i];
+                i += 1;
+                if (c == 'u') {
+                    if (i + 4 > this.end) {
+                        return -1;
+                    }
+                    for (int j = 0; j < 4; j += 1) {
+                        if (JSONTokener.dehexchar(this.source[i + j]) < 0) {
+                            return -1;
+                        }
+                    }
+                    i += 4;
+                } else if ("\"\\/bfnrt".indexOf(c) < 0) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * Make a JSON text of the value. If it is strict JSON it is taken from
+     * the source as it is. Otherwise it is parsed and then written.
+     * @return A JSON text.
+     * @throws RuntimeException If the value has a syntax error.
+     */
+    public String toJSONString() {
+        if (isStrict()) {
+            return new String(this.source, this.start, this.end - this.start);
+        }
+        try {
+            return parse().toString();
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+
+    /**
+     * Make a JSON text of the value.
+     * @return A JSON text.
+     */
+    public String toString() {
+        return toJSONString();
+    }
+
+
+    /**
+     * Check a strict JSON value.
+     * @param i An index, or -1.
+     * @return The index after the value, or -1 if it is not strict JSON.
+     */
+    private int value(int i) {
+        i = skipWhite(i);
+        if (i < 0 || i == this.end) {
+            return -1;
+        }
+        char c = this.source[i];
+        switch (c) {
+        case '{':
+            i = skipWhite(i + 1);
+            if (i >= 0 && i < this.end && this.source[i] == '}') {
+                return i + 1;
+            }
+            HashSet keys = new HashSet();
+            for (;;) {
+                if (i < 0 || i == this.end || this.source[i] != '"') {
+                    return -1;
+                }
+                int first = i + 1;
+                i = string(first);
+                if (i < 0) {
+                    return -1;
+                }
+                String key = key(first, i - 1);
+                if (key == null || !keys.add(key)) {
+                    return -1;
+                }
+                i = skipWhite(i);
+                if (i < 0 || i == this.end || this.source[i] != ':') {
+                    return -1;
+                }
+                i = skipWhite(value(i + 1));
+                if (i < 0 || i == this.end) {
+                    return -1;
+                }
+                if (this.source[i] == '}') {
+                    return i + 1;
+                }
+                if (this.source[i] != ',') {
+                    return -1;
+                }
+                i = skipWhite(i + 1);
+            }
+        case '[':
+            i = skipWhite(i + 1);
+            if (i >= 0 && i < this.end && this.source[i] == ']') {
+                return i + 1;
+            }
+            for (;;) {
+                i = skipWhite(value(i));
+                if (i < 0 || i == this.end) {
+                    return -1;
+                }
+                if (this.source[i] == ']') {
+                    return i + 1;
+                }
+                if (this.source[i] != ',') {
+                    return -1;
+                }
+                i += 1;
+            }
+        case '"':
+            return string(i + 1);
+        case 't':
+            return word(i, "true");
+        case 'f':
+            return word(i, "false");
+        case 'n':
+            return word(i, "null");
+        default:
+            if (c == '-') {
+                i += 1;
+            }
+            if (i < this.end && this.source[i] == '0') {
+                i += 1;
+            } else {
+                i = skipDigits(i);
+                if (i < 0) {
+                    return -1;
+                }
+            }
+            if (i < this.end && this.source[i] == '.') {
+                i = skipDigits(i + 1);
+                if (i < 0) {
+                    return -1;
+                }
+            }
+            if (i < this.end && (this.source[i] | 0x20) == 'e') {
+                i += 1;
+                if (i < this.end && (this.source[i] == '+' || this.source[i] == '-')) {
+                    i += 1;
+                }
+                i = skipDigits(i);
+                if (i < 0) {
+                    return -1;
+                }
+            }
+            return i;
+        }
+    }
+
+
+    /**
+     * Check a literal word.
+     * @param i    An index.
+     * @param word The word.
+     * @return The index after the word, or -1 if it is not there.
+     */
+    private int word(int i, String word) {
+        int length = word.length();
+        if (i + length > this.end) {
+            return -1;
+        }
+        for (int j = 0; j < length; j += 1) {
+            if (this.source[i + j] != word.charAt(j)) {
+                return -1;
+            }
+        }
+        return i + length;
+    }
+
+
+    /**
+     * Write the value. If there is no indentation and it is strict JSON, it
+     * is copied from the source as it is. Otherwise it is parsed and then
+     * written with the indentation.
+     * @param writer       A Writer.
+     * @param indentFactor The number of spaces to add to each level of
+     *  indentation.
+     * @param indent       The indention of the value.
+     * @return The writer.
+     * @throws JSONException If the value has a syntax error.
+     * @throws IOException If the writer fails.
+     */
+    Writer write(Writer writer, int indentFactor, int indent)
+            throws JSONException, IOException {
+        if (indentFactor == 0 && isStrict()) {
+            writer.write(this.source, this.start, this.end - this.start);
+        } else {
+            JSONObject.writeValue(writer, parse(), indentFactor, indent);
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,148 @@
+package org.json;
+
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONLineReader reads newline-delimited JSON: a text in which each line
+ * holds one JSON object. A single buffered JSONTokener is used for all of
+ * the lines, so the only allocation for a record is the JSONObject that is
+ * built for it. Blank lines are skipped. For example, <pre>
+ * JSONLineReader lines = new JSONLineReader(myReader);
+ * while (lines.more()) {
+ *     JSONObject record = lines.nextJSONObject();
+ *     ...
+ * }</pre>
+ * <p>
+ * A JSONLineReader is also an Iterator of JSONObject. Because an Iterator
+ * cannot throw a checked exception, its <code>hasNext</code> and
+ * <code>next</code> methods wrap a JSONException in a RuntimeException.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONLineReader implements Iterator {
+
+    private final JSONTokener x;
+
+    /**
+     * Make a JSONLineReader that reads from a Reader through a buffered
+     * JSONTokener with an 8192 character window.
+     * @param reader A reader.
+     */
+    public JSONLineReader(Reader reader) {
+        this(new JSONTokener(reader, 8192));
+    }
+
+    /**
+     * Make a JSONLineReader that reads lines from a JSONTokener.
+     * @param x A JSONTokener.
+     */
+    public JSONLineReader(JSONTokener x) {
+        this.x = x;
+    }
+
+    /**
+     * Determine if there is another record, skipping any blank lines.
+     * @return true if there is another record.
+     * @throws JSONException If the text cannot be read.
+     */
+    public boolean more() throws JSONException {
+        if (x.nextClean() == 0) {
+            return false;
+        }
+        x.back();
+        return true;
+    }
+
+    /**
+     * Get the next record. Nothing but whitespace may follow the object on
+     * its line.
+     * @return A JSONObject.
+     * @throws JSONException If there are no more records, or if the line is
+     *  not a single JSON object.
+     */
+    public JSONObject nextJSONObject() throws JSONException {
+        JSONObject jo = new JSONObject(x);
+        for (;;) {
+            char c = x.next();
+            if (c == 0 || c == '\n') {
+                return jo;
+            }
+            if (c > ' ') {
+                throw x.syntaxError("Expected a new line");
+            }
+        }
+    }
+
+    /**
+     * Determine if there is another record.
+     * @return true if there is another record.
+     * @throws RuntimeException If the text cannot be read.
+     */
+    public boolean hasNext() {
+        try {
+            return more();
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Get the next record.
+     * @return A JSONObject.
+     * @throws NoSuchElementException If there are no more records.
+     * @throws RuntimeException If the line is not a single JSON object.
+     */
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return nextJSONObject();
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Records cannot be removed.
+     * @throws UnsupportedOperationException Always.
+     */
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Make a printable string of this JSONLineReader.
+     * @return " at {index} [character {character} line {line}]"
+     */
+    public String toString() {
+        return x.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package org.json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONLineWriter writes newline-delimited JSON: each value is written as
+ * JSON text without whitespace, followed by a newline. The text is collected
+ * in a buffer and handed to the underlying Writer in large blocks, so many
+ * small records cost few writes to the sink. For example, <pre>
+ * JSONLineWriter lines = new JSONLineWriter(myWriter);
+ * for (...) {
+ *     lines.write(record);
+ * }
+ * lines.close();</pre>
+ * <p>
+ * The buffer must be flushed or closed when the last record has been
+ * written.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONLineWriter {
+
+    private final Writer writer;
+
+    /**
+     * Make a JSONLineWriter that buffers up to 8192 characters.
+     * @param writer The sink.
+     */
+    public JSONLineWriter(Writer writer) {
+        this(writer, 8192);
+    }
+
+    /**
+     * Make a JSONLineWriter that buffers up to <code>bufferSize</code>
+     * characters before writing them to the sink.
+     * @param writer     The sink.
+     * @param bufferSize The size of the buffer.
+     */
+    public JSONLineWriter(Writer writer, int bufferSize) {
+        this.writer = new BufferedWriter(writer, bufferSize > 0 ? bufferSize : 1);
+    }
+
+    /**
+     * Write any buffered text and close the sink.
+     * @throws JSONException If the sink cannot be written or closed.
+     */
+    public void close() throws JSONException {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+    }
+
+    /**
+     * Write any buffered text to the sink and flush it.
+     * @throws JSONException If the sink cannot be written.
+     */
+    public void flush() throws JSONException {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+    }
+
+    /**
+     * Write a record. The value is usually a JSONObject, but it can be any
+     * value that JSONObject.wrap can produce.
+     * @param value The value.
+     * @return this
+     * @throws JSONException If the value is a non-finite number, or if the
+     *  sink cannot be written.
+     */
+    public JSONLineWriter write(Object value) throws JSONException {
+        try {
+            JSONObject.writeValue(writer, value, 0, 0);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+        return this;
+    }
+}
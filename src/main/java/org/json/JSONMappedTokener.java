@@ -0,0 +1,151 @@
+package org.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONMappedTokener is a JSONByteTokener that reads a UTF-8 encoded file
+ * through memory mapped segments of a FileChannel, so the bytes go from the
+ * page cache to the scanner without passing through a Reader. Only one
+ * segment is mapped at a time; when the scanner reaches the end of a segment
+ * the next one is mapped, starting at the current position. This allows files
+ * larger than 2 GB to be read. The index reported by <code>syntaxError</code>
+ * is the byte offset in the file.
+ * <p>
+ * The file stays open until <code>close</code> is called.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONMappedTokener extends JSONByteTokener {
+
+    /**
+     * The default size of a mapped segment, 64 MB.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+
+    private final FileChannel      channel;
+    private final RandomAccessFile file;
+    private final long             length;
+    private final int              segmentSize;
+
+    /**
+     * Construct a JSONMappedTokener for a file, using the default segment
+     * size.
+     *
+     * @param file A file containing UTF-8 encoded JSON text.
+     * @throws JSONException If the file cannot be opened.
+     */
+    public JSONMappedTokener(File file) throws JSONException {
+        this(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Construct a JSONMappedTokener for a file.
+     *
+     * @param file        A file containing UTF-8 encoded JSON text.
+     * @param segmentSize The number of bytes to map at a time, at least 4.
+     * @throws JSONException If the file cannot be opened.
+     */
+    public JSONMappedTokener(File file, int segmentSize) throws JSONException {
+        super(ByteBuffer.allocate(0));
+        if (segmentSize < 4) {
+            throw new JSONException("Bad segment size " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        try {
+            this.file = new RandomAccessFile(file, "r");
+            this.channel = this.file.getChannel();
+            this.length = this.channel.size();
+        } catch (IOException exception) {
+            throw new JSONException(exception);
+        }
+    }
+
+    /**
+     * Close the file. The segments that have already been mapped remain
+     * valid until they are garbage collected.
+     * @throws JSONException If the file cannot be closed.
+     */
+    public void close() throws JSONException {
+        try {
+            file.close();
+        } catch (IOException exception) {
+            throw new JSONException(exception);
+        }
+    }
+
+    /**
+     * Map the next segment of the file, starting at the current position.
+     * @return true if there were bytes after the current window.
+     * @throws JSONException If the segment cannot be mapped.
+     */
+    boolean fill() throws JSONException {
+        if (offset + limit >= length) {
+            return false;
+        }
+        map(offset + position);
+        return true;
+    }
+
+    /**
+     * Move the position to an offset in the file, mapping the segment that
+     * starts there if it is not in the current window.
+     * @param newPosition An offset in the file.
+     * @throws JSONException If the segment cannot be mapped.
+     */
+    void reposition(long newPosition) throws JSONException {
+        if (newPosition >= offset && newPosition <= offset + limit) {
+            position = (int)(newPosition - offset);
+        } else {
+            map(newPosition);
+        }
+    }
+
+    /**
+     * Map the segment starting at an offset in the file.
+     * @param start An offset in the file.
+     * @throws JSONException If the segment cannot be mapped.
+     */
+    private void map(long start) throws JSONException {
+        long size = length - start;
+        if (size > segmentSize) {
+            size = segmentSize;
+        }
+        try {
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        } catch (IOException exception) {
+            throw new JSONException(exception);
+        }
+        offset = start;
+        position = 0;
+        limit = (int)size;
+    }
+}
@@ -0,0 +1,210 @@
+package org.json;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONNumber is a number that keeps the text it was parsed from and
+ * converts it only when its value is first needed. A JSONTokener makes
+ * JSONNumbers instead of Integers, Longs and Doubles when
+ * <code>setLazyNumbers(true)</code> has been called. Documents that are
+ * parsed only to be routed or forwarded then skip the conversion, and the
+ * numbers are written back exactly as they were read, so a decimal with more
+ * digits than a double can hold passes through unchanged.
+ * <p>
+ * The value, available from <code>getValue</code> and the methods of Number,
+ * is the Integer, Long or Double that the tokener would otherwise have made.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONNumber extends Number implements JSONString {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The text of the number.
+     */
+    private final String string;
+
+    /**
+     * The converted value, or null if it has not been needed yet.
+     */
+    private Number value;
+
+    /**
+     * Make a JSONNumber for a text that is known to be a number.
+     * @param string The text of the number.
+     */
+    JSONNumber(String string) {
+        this.string = string;
+    }
+
+    /**
+     * Convert a run of characters into a JSONNumber if it is a strict JSON
+     * number, of the form
+     * <code>-?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?</code>, that
+     * certainly converts to a finite Integer, Long or Double. Anything
+     * else, including the lenient forms "01", "1." and ".5", is converted at
+     * once by <code>JSONObject.stringToValue</code>, so that it is written
+     * back as the value and not as the text.
+     * @param chars The characters, none of them below ' '.
+     * @param start The index of the first character.
+     * @param end   The index after the last character.
+     * @return A JSONNumber or a simple JSON value, or "" if the run is blank.
+     */
+    static Object stringToValue(char[] chars, int start, int end) {
+        int first = start;
+        int last = end;
+        while (first < last && chars[first] == ' ') {
+            first += 1;
+        }
+        while (last > first && chars[last - 1] == ' ') {
+            last -= 1;
+        }
+        int i = first;
+        if (i < last && chars[i] == '-') {
+            i += 1;
+        }
+        int integer = i;
+        int significant = 0;
+        while (i < last && chars[i] >= '0' && chars[i] <= '9') {
+            if (significant > 0 || chars[i] != '0') {
+                significant += 1;
+            }
+            i += 1;
+        }
+        boolean strict = i > integer &&
+            (i == integer + 1 || chars[integer] != '0');
+        boolean decimal = false;
+        if (strict && i < last && chars[i] == '.') {
+            decimal = true;
+            i += 1;
+            int fraction = i;
+            while (i < last && chars[i] >= '0' && chars[i] <= '9') {
+                i += 1;
+            }
+            strict = i > fraction;
+        }
+        int exponent = 0;
+        if (strict && i < last && (chars[i] == 'e' || chars[i] == 'E')) {
+            decimal = true;
+            i += 1;
+            boolean negative = false;
+            if (i < last && (chars[i] == '-' || chars[i] == '+')) {
+                negative = chars[i] == '-';
+                i += 1;
+            }
+            int exponentDigits = 0;
+            while (i < last && chars[i] >= '0' && chars[i] <= '9') {
+                exponent = exponent * 10 + (chars[i] - '0');
+                exponentDigits += 1;
+                i += 1;
+            }
+            if (exponentDigits == 0 || exponentDigits > 3) {
+                strict = false;
+            } else if (negative) {
+                exponent = -exponent;
+            }
+        }
+        if (strict && i == last &&
+                (decimal ? significant + exponent < 308 : significant <= 18)) {
+            return new JSONNumber(new String(chars, first, last - first));
+        }
+        return JSONObject.stringToValue(chars, start, end);
+    }
+
+    /**
+     * Get the value as a double.
+     * @return The double value.
+     */
+    public double doubleValue() {
+        return getValue().doubleValue();
+    }
+
+    /**
+     * Determine if another object is a JSONNumber with an equal value.
+     * @param object The other object.
+     * @return true if the values are equal.
+     */
+    public boolean equals(Object object) {
+        return object instanceof JSONNumber &&
+            getValue().equals(((JSONNumber) object).getValue());
+    }
+
+    /**
+     * Get the value as a float.
+     * @return The float value.
+     */
+    public float floatValue() {
+        return getValue().floatValue();
+    }
+
+    /**
+     * Get the value, converting the text on first use.
+     * @return An Integer, Long or Double.
+     */
+    public Number getValue() {
+        if (value == null) {
+            value = (Number) JSONObject.stringToValue(string);
+        }
+        return value;
+    }
+
+    public int hashCode() {
+        return getValue().hashCode();
+    }
+
+    /**
+     * Get the value as an int.
+     * @return The int value.
+     */
+    public int intValue() {
+        return getValue().intValue();
+    }
+
+    /**
+     * Get the value as a long.
+     * @return The long value.
+     */
+    public long longValue() {
+        return getValue().longValue();
+    }
+
+    /**
+     * Get the text of the number, exactly as it was read.
+     * @return The text.
+     */
+    public String toJSONString() {
+        return string;
+    }
+
+    /**
+     * Get the text of the number, exactly as it was read.
+     * @return The text.
+     */
+    public String toString() {
+        return string;
+    }
+}
@@ -32,7 +32,6 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
@@ -146,7 +145,7 @@ public class JSONObject {
      * Construct an empty JSONObject.
      */
     public JSONObject() {
-        map = new HashMap();
+        map = new JSONCompactMap();
     }
 
     /**
@@ -188,10 +187,11 @@ public class JSONObject {
             case 0:
                 throw x.syntaxError("A JSONObject text must end with '}'");
             case '}':
+                x.shareKeys((JSONCompactMap)map);
                 return;
             default:
                 x.back();
-                key = x.nextValue().toString();
+                key = x.nextKey();
             }
 
             // The key is followed by ':'. We will also tolerate '=' or '=>'.
@@ -204,18 +204,20 @@ public class JSONObject {
             } else if (c != ':') {
                 throw x.syntaxError("Expected a ':' after a key");
             }
-            putOnce(key, x.nextValue());
+            putOnce(key, x.nextNestedValue());
 
             // Pairs are separated by ','. We will also tolerate ';'.
             switch (x.nextClean()) {
             case ';':
             case ',':
                 if (x.nextClean() == '}') {
+                    x.shareKeys((JSONCompactMap)map);
                     return;
                 }
                 x.back();
                 break;
             case '}':
+                x.shareKeys((JSONCompactMap)map);
                 return;
             default:
                 throw x.syntaxError("Expected a ',' or '}'");
@@ -231,7 +233,7 @@ public class JSONObject {
      * @throws JSONException
      */
     public JSONObject(Map map) {
-        this.map = new HashMap();
+        this.map = new JSONCompactMap();
         if (map != null) {
             Iterator i = map.entrySet().iterator();
             while (i.hasNext()) {
@@ -407,18 +409,9 @@ public class JSONObject {
             return "null";
         }
 
-        // Shave off trailing zeros and decimal point, if possible.
         String string = Double.toString(d);
-        if (string.indexOf('.') > 0 && string.indexOf('e') < 0 &&
-                string.indexOf('E') < 0) {
-            while (string.endsWith("0")) {
-                string = string.substring(0, string.length() - 1);
-            }
-            if (string.endsWith(".")) {
-                string = string.substring(0, string.length() - 1);
-            }
-        }
-        return string;
+        int length = trimmedLength(string);
+        return length == string.length() ? string : string.substring(0, length);
     }
 
     /**
@@ -426,16 +419,21 @@ public class JSONObject {
      *
      * @param key   A key string.
      * @return      The object associated with the key.
-     * @throws      JSONException if the key is not found.
+     * @throws      JSONException if the key is not found, or if its value
+     *  is a lazy value with a syntax error.
      */
     public Object get(String key) throws JSONException {
         if (key == null) {
             throw new JSONException("Null key.");
         }
-        Object object = opt(key);
+        Object object = map.get(key);
         if (object == null) {
             throw new JSONException("JSONObject[" + quote(key) + "] not found.");
         }
+        if (object instanceof JSONLazyValue) {
+            object = ((JSONLazyValue)object).parse();
+            map.put(key, object);
+        }
         return object;
     }
 
@@ -626,6 +624,9 @@ public class JSONObject {
      */
     public JSONObject increment(String key) throws JSONException {
         Object value = opt(key);
+        if (value instanceof JSONNumber) {
+            value = ((JSONNumber) value).getValue();
+        }
         if (value == null) {
             put(key, 1);
         } else if (value instanceof Integer) {
@@ -697,27 +698,32 @@ public class JSONObject {
             throw new JSONException("Null pointer");
         }
         testValidity(number);
-
-        // Shave off trailing zeros and decimal point, if possible.
-        String string = number.toString();
-        if (string.indexOf('.') > 0 && string.indexOf('e') < 0 && string.indexOf('E') < 0) {
-            while (string.endsWith("0")) {
-                string = string.substring(0, string.length() - 1);
-            }
-            if (string.endsWith(".")) {
-                string = string.substring(0, string.length() - 1);
-            }
+        if (number instanceof JSONNumber || number instanceof Integer ||
+                number instanceof Long) {
+            return number.toString();
         }
-        return string;
+        String string = number.toString();
+        int length = trimmedLength(string);
+        return length == string.length() ? string : string.substring(0, length);
     }
 
     /**
      * Get an optional value associated with a key.
      * @param key   A key string.
-     * @return      An object which is the value, or null if there is no value.
+     * @return      An object which is the value, or null if there is no
+     *  value or it is a lazy value with a syntax error.
      */
     public Object opt(String key) {
-        return key == null ? null : map.get(key);
+        Object object = key == null ? null : map.get(key);
+        if (object instanceof JSONLazyValue) {
+            try {
+                object = ((JSONLazyValue)object).parse();
+            } catch (JSONException e) {
+                return null;
+            }
+            map.put(key, object);
+        }
+        return object;
     }
 
     /**
@@ -1074,6 +1080,74 @@ public class JSONObject {
         return this;
     }
 
+    /**
+     * The lowercase hexadecimal digits.
+     */
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * The escape sequences of the characters below '\u00a0', indexed by
+     * character. The entries of the characters that need no escape are null.
+     */
+    private static final String[] ESCAPES = new String[0xa0];
+
+    /**
+     * The escape sequences of the characters from '\u2000' to '\u20ff'.
+     */
+    private static final String[] ESCAPES_2000 = new String[0x100];
+
+    static {
+        for (int c = 0; c < ESCAPES.length; c += 1) {
+            if (c < ' ' || c >= 0x80) {
+                ESCAPES[c] = "\\u00" + HEX[c >> 4] + HEX[c & 15];
+            }
+        }
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\t'] = "\\t";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        for (int c = 0; c < ESCAPES_2000.length; c += 1) {
+            ESCAPES_2000[c] = "\\u20" + HEX[c >> 4] + HEX[c & 15];
+        }
+    }
+
+    /**
+     * A buffer for each thread in which writeLong formats digits.
+     */
+    private static final ThreadLocal DIGITS = new ThreadLocal() {
+        protected Object initialValue() {
+            return new char[20];
+        }
+    };
+
+    /**
+     * The keys that write has quoted, for reuse by later objects with the
+     * same keys.
+     */
+    private static final JSONKeyCache KEYS = new JSONKeyCache(1024, 64);
+
+    /**
+     * Get the escape sequence that quote writes for a character of a string.
+     * @param string A String.
+     * @param i      The index of the character.
+     * @return The escape sequence, or null if the character is written as is.
+     */
+    private static String escape(String string, int i) {
+        char c = string.charAt(i);
+        if (c < 0xa0) {
+            String escape = ESCAPES[c];
+            if (escape == null && c == '/' && i > 0 &&
+                    string.charAt(i - 1) == '<') {
+                return "\\/";
+            }
+            return escape;
+        }
+        return c >= '\u2000' && c < '\u2100' ? ESCAPES_2000[c - 0x2000] : null;
+    }
+
     /**
      * Produce a string in double quotes with backslash sequences in all the
      * right places. A backslash will be inserted within </, producing <\/,
@@ -1083,15 +1157,26 @@ public class JSONObject {
      * @return  A String correctly formatted for insertion in a JSON text.
      */
     public static String quote(String string) {
-        StringWriter sw = new StringWriter();
-        synchronized (sw.getBuffer()) {
-            try {
-                return quote(string, sw).toString();
-            } catch (IOException ignored) {
-                // will never happen - we are writing to a string writer
-                return "";
+        if (string == null || string.length() == 0) {
+            return "\"\"";
+        }
+        int length = string.length();
+        for (int i = 0; i < length; i += 1) {
+            if (escape(string, i) != null) {
+                StringWriter sw = new StringWriter(length + 16);
+                try {
+                    return quote(string, sw).toString();
+                } catch (IOException ignored) {
+                    // will never happen - we are writing to a string writer
+                    return "";
+                }
             }
         }
+        char[] chars = new char[length + 2];
+        chars[0] = '"';
+        string.getChars(0, length, chars, 1);
+        chars[length + 1] = '"';
+        return new String(chars);
     }
 
     public static Writer quote(String string, Writer w) throws IOException {
@@ -1099,66 +1184,44 @@ public class JSONObject {
             w.write("\"\"");
             return w;
         }
-
-        char b;
-        char c = 0;
-        String hhhh;
-        int i;
-        int len = string.length();
-
+        int length = string.length();
+        int start = 0;
         w.write('"');
-        for (i = 0; i < len; i += 1) {
-            b = c;
-            c = string.charAt(i);
-            switch (c) {
-            case '\\':
-            case '"':
-                w.write('\\');
-                w.write(c);
-                break;
-            case '/':
-                if (b == '<') {
-                    w.write('\\');
-                }
-                w.write(c);
-                break;
-            case '\b':
-                w.write("\\b");
-                break;
-            case '\t':
-                w.write("\\t");
-                break;
-            case '\n':
-                w.write("\\n");
-                break;
-            case '\f':
-                w.write("\\f");
-                break;
-            case '\r':
-                w.write("\\r");
-                break;
-            default:
-                if (c < ' ' || (c >= '\u0080' && c < '\u00a0')
-                        || (c >= '\u2000' && c < '\u2100')) {
-                    hhhh = "000" + Integer.toHexString(c);
-                    w.write("\\u" + hhhh.substring(hhhh.length() - 4));
-                } else {
-                    w.write(c);
+        for (int i = 0; i < length; i += 1) {
+            String escape = escape(string, i);
+            if (escape != null) {
+                if (i > start) {
+                    w.write(string, start, i - start);
                 }
+                w.write(escape);
+                start = i + 1;
             }
         }
+        if (length > start) {
+            w.write(string, start, length - start);
+        }
         w.write('"');
         return w;
     }
 
     /**
      * Remove a name and its value, if present.
+     * A lazy value that has a syntax error is returned unparsed, so that the
+     * error is not lost: it is reported when the value is written, or put
+     * back and asked for.
      * @param key The name to be removed.
      * @return The value that was associated with the name,
      * or null if there was no value.
      */
     public Object remove(String key) {
-        return this.map.remove(key);
+        Object object = this.map.remove(key);
+        if (object instanceof JSONLazyValue) {
+            try {
+                object = ((JSONLazyValue)object).parse();
+            } catch (JSONException ignore) {
+            }
+        }
+        return object;
     }
 
     /**
@@ -1213,6 +1276,221 @@ public class JSONObject {
         return string;
     }
 
+    /**
+     * The powers of ten that are exactly representable as doubles.
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Convert a run of characters into a number, boolean, or null, in the
+     * same way as <code>stringToValue(new String(chars, start, end - start)
+     * .trim())</code>. Decimal integers of up to 18 digits are accumulated
+     * directly into a long. Decimal fractions of up to 15 significant digits
+     * with a decimal exponent of at most 22 are converted with a single
+     * exactly rounded multiplication or division. Everything else is given
+     * to <code>stringToValue(String)</code>.
+     * @param chars The characters, none of them below ' '.
+     * @param start The index of the first character.
+     * @param end   The index after the last character.
+     * @return A simple JSON value, or "" if the run is blank.
+     */
+    static Object stringToValue(char[] chars, int start, int end) {
+        while (start < end && chars[start] == ' ') {
+            start += 1;
+        }
+        while (end > start && chars[end - 1] == ' ') {
+            end -= 1;
+        }
+        int length = end - start;
+        if (length == 0) {
+            return "";
+        }
+        char b = chars[start];
+        if ((b >= '0' && b <= '9') || b == '-' || b == '.') {
+            Object number = scanNumber(chars, start, end);
+            if (number != null) {
+                return number;
+            }
+        } else if (b != '+') {
+            int i;
+            for (i = start; i < end; i += 1) {
+                if (chars[i] >= 128) {
+                    break;
+                }
+            }
+            if (i < end) {
+                return stringToValue(new String(chars, start, length));
+            }
+            String lower = null;
+            if (length == 4) {
+                lower = (b | 0x20) == 'n' ? "null" : "true";
+            } else if (length == 5) {
+                lower = "false";
+            }
+            if (lower != null) {
+                for (i = 0; i < length; i += 1) {
+                    char c = chars[start + i];
+                    if (c != lower.charAt(i) && (c | 0x20) != lower.charAt(i)) {
+                        break;
+                    }
+                }
+                if (i == length) {
+                    switch (lower.charAt(0)) {
+                    case 't':
+                        return Boolean.TRUE;
+                    case 'f':
+                        return Boolean.FALSE;
+                    default:
+                        return JSONObject.NULL;
+                    }
+                }
+            }
+            return new String(chars, start, length);
+        }
+        return stringToValue(new String(chars, start, length));
+    }
+
+    /**
+     * Scan a decimal number that has the form
+     * <code>-?digits(.digits)?([eE][+-]?digits)?</code>.
+     * @return An Integer, Long or Double, or null if the run does not have
+     *  that form or cannot be converted exactly on the fast path.
+     */
+    private static Object scanNumber(char[] chars, int start, int end) {
+        long integer = scanLong(chars, start, end);
+        if (integer != Long.MIN_VALUE) {
+            if (integer == (int) integer) {
+                return Integer.valueOf((int) integer);
+            }
+            return Long.valueOf(integer);
+        }
+        double value = scanDouble(chars, start, end);
+        if (value != value) {
+            return null;
+        }
+        return Double.valueOf(value);
+    }
+
+    /**
+     * Scan an integer that has the form <code>-?digits</code> with at most
+     * 18 significant digits.
+     * @return The value, or Long.MIN_VALUE if the run does not have that
+     *  form. No value on the fast path can be Long.MIN_VALUE.
+     */
+    static long scanLong(char[] chars, int start, int end) {
+        int i = start;
+        if (chars[i] == '-') {
+            i += 1;
+        }
+        if (i == end) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        int significant = 0;
+        while (i < end) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (c - '0');
+            if (value != 0) {
+                significant += 1;
+                if (significant > 18) {
+                    return Long.MIN_VALUE;
+                }
+            }
+            i += 1;
+        }
+        return chars[start] == '-' ? -value : value;
+    }
+
+    /**
+     * Scan a number with a fraction or an exponent, of the form
+     * <code>-?digits(.digits)?([eE][+-]?digits)?</code>.
+     * @return The value, or NaN if the run does not have that form or
+     *  cannot be converted exactly on the fast path.
+     */
+    static double scanDouble(char[] chars, int start, int end) {
+        int i = start;
+        boolean negative = chars[i] == '-';
+        if (negative) {
+            i += 1;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int significant = 0;
+        int scale = 0;
+        boolean decimal = false;
+        char c;
+        while (i < end && (c = chars[i]) >= '0' && c <= '9') {
+            mantissa = mantissa * 10 + (c - '0');
+            if (mantissa != 0) {
+                significant += 1;
+            }
+            digits += 1;
+            i += 1;
+        }
+        if (i < end && chars[i] == '.') {
+            decimal = true;
+            i += 1;
+            while (i < end && (c = chars[i]) >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    significant += 1;
+                }
+                digits += 1;
+                scale += 1;
+                i += 1;
+            }
+        }
+        if (digits == 0 || significant > 18) {
+            return Double.NaN;
+        }
+        int exponent = 0;
+        if (i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+            decimal = true;
+            i += 1;
+            boolean negativeExponent = false;
+            if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+                negativeExponent = chars[i] == '-';
+                i += 1;
+            }
+            int exponentDigits = 0;
+            while (i < end && (c = chars[i]) >= '0' && c <= '9') {
+                exponent = exponent * 10 + (c - '0');
+                exponentDigits += 1;
+                i += 1;
+            }
+            if (exponentDigits == 0 || exponentDigits > 4) {
+                return Double.NaN;
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        if (i < end) {
+            return Double.NaN;
+        }
+        if (!decimal || significant > 15) {
+            return Double.NaN;
+        }
+        double value = mantissa;
+        if (mantissa != 0) {
+            exponent -= scale;
+            if (exponent > 0 && exponent < POWERS_OF_TEN.length) {
+                value *= POWERS_OF_TEN[exponent];
+            } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+                value /= POWERS_OF_TEN[-exponent];
+            } else if (exponent != 0) {
+                return Double.NaN;
+            }
+        }
+        return negative ? -value : value;
+    }
+
     /**
      * Throw an exception if the object is a NaN or infinite number.
      * @param o The object to test.
@@ -1232,6 +1510,27 @@ public class JSONObject {
         }
     }
 
+    /**
+     * Get the length of a number's text without its trailing zeros and
+     * decimal point, if possible. "1.50" is 3, "2.0" is 1, and "1.0E10" and
+     * "100" are left whole.
+     * @param string The text of a number.
+     * @return The length to keep.
+     */
+    private static int trimmedLength(String string) {
+        int length = string.length();
+        if (string.indexOf('.') > 0 && string.indexOf('e') < 0 &&
+                string.indexOf('E') < 0) {
+            while (string.charAt(length - 1) == '0') {
+                length -= 1;
+            }
+            if (string.charAt(length - 1) == '.') {
+                length -= 1;
+            }
+        }
+        return length;
+    }
+
     /**
      * Produce a JSONArray containing the values of the members of this
      * JSONObject.
@@ -1419,6 +1718,8 @@ public class JSONObject {
             ((JSONObject) value).write(writer, indentFactor, indent);
         } else if (value instanceof JSONArray) {
             ((JSONArray) value).write(writer, indentFactor, indent);
+        } else if (value instanceof JSONLazyValue) {
+            ((JSONLazyValue) value).write(writer, indentFactor, indent);
         } else if (value instanceof Map) {
             new JSONObject((Map) value).write(writer, indentFactor, indent);
         } else if (value instanceof Collection) {
@@ -1426,7 +1727,7 @@ public class JSONObject {
         } else if (value.getClass().isArray()) {
             new JSONArray(value).write(writer, indentFactor, indent);
         } else if (value instanceof Number) {
-            writer.write(numberToString((Number) value));
+            writeNumber(writer, (Number) value);
         } else if (value instanceof Boolean) {
             writer.write(value.toString());
         } else if (value instanceof JSONString) {
@@ -1449,6 +1750,91 @@ public class JSONObject {
         }
     }
 
+    /**
+     * Write a double as numberToString would make it. A whole number below
+     * ten million, which Double.toString would write as digits and ".0", is
+     * written as digits without making a String.
+     * @param writer The Writer.
+     * @param d      A double.
+     * @throws JSONException If the double is not finite.
+     * @throws IOException If the Writer cannot be written.
+     */
+    static final void writeDouble(Writer writer, double d)
+            throws JSONException, IOException {
+        if (Double.isInfinite(d) || Double.isNaN(d)) {
+            throw new JSONException("JSON does not allow non-finite numbers.");
+        }
+        if (d == (long) d && d > -1e7 && d < 1e7 && (d != 0 || 1 / d > 0)) {
+            writeLong(writer, (long) d);
+        } else {
+            String string = Double.toString(d);
+            writer.write(string, 0, trimmedLength(string));
+        }
+    }
+
+    /**
+     * Write a key in quotes, followed by a colon. The quoted form of a short
+     * key that is written again and again is cached, so it is copied in one
+     * piece.
+     * @param writer The Writer.
+     * @param key    The key.
+     * @throws IOException If the Writer cannot be written.
+     */
+    static final void writeKey(Writer writer, String key) throws IOException {
+        KEYS.write(writer, key);
+    }
+
+    /**
+     * Write the digits of a long. A JSONByteWriter and a StringWriter format
+     * them straight into their buffers. Other Writers are given them from a
+     * buffer kept for each thread.
+     * @param writer The Writer.
+     * @param value  A long.
+     * @throws IOException If the Writer cannot be written.
+     */
+    static final void writeLong(Writer writer, long value) throws IOException {
+        if (writer instanceof JSONByteWriter) {
+            ((JSONByteWriter) writer).writeLong(value);
+            return;
+        }
+        if (writer.getClass() == StringWriter.class) {
+            ((StringWriter) writer).getBuffer().append(value);
+            return;
+        }
+        char[] chars = (char[]) DIGITS.get();
+        int i = chars.length;
+        long q = value < 0 ? value : -value;
+        do {
+            chars[--i] = (char) ('0' - (q % 10));
+            q /= 10;
+        } while (q != 0);
+        if (value < 0) {
+            chars[--i] = '-';
+        }
+        writer.write(chars, i, chars.length - i);
+    }
+
+    /**
+     * Write a number as numberToString would make it. Integers, Longs, Shorts
+     * and Bytes are written as digits without making a String, and so are
+     * most whole Doubles.
+     * @param writer The Writer.
+     * @param number A Number.
+     * @throws JSONException If the number is not finite.
+     * @throws IOException If the Writer cannot be written.
+     */
+    static final void writeNumber(Writer writer, Number number)
+            throws JSONException, IOException {
+        if (number instanceof Integer || number instanceof Long ||
+                number instanceof Short || number instanceof Byte) {
+            writeLong(writer, number.longValue());
+        } else if (number instanceof Double) {
+            writeDouble(writer, number.doubleValue());
+        } else {
+            writer.write(numberToString(number));
+        }
+    }
+
     /**
      * Write the contents of the JSONObject as JSON text to a writer. For
      * compactness, no whitespace is added.
@@ -1467,8 +1853,7 @@ public class JSONObject {
 
             if (length == 1) {
                 Object key = keys.next();
-                writer.write(quote(key.toString()));
-                writer.write(':');
+                writeKey(writer, key.toString());
                 if (indentFactor > 0) {
                     writer.write(' ');
                 }
@@ -1484,8 +1869,7 @@ public class JSONObject {
                         writer.write('\n');
                     }
                     indent(writer, newindent);
-                    writer.write(quote(key.toString()));
-                    writer.write(':');
+                    writeKey(writer, key.toString());
                     if (indentFactor > 0) {
                         writer.write(' ');
                     }
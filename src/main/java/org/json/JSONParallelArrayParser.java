@@ -0,0 +1,376 @@
+package org.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONParallelArrayParser builds a JSONArray from a large UTF-8 encoded
+ * array text on several threads at once. A fast scan over the bytes tracks
+ * nesting, strings and escapes to find the commas that separate the elements
+ * of the outer array. The elements are gathered into runs of about
+ * <code>chunkSize</code> bytes, and each run is parsed by its own
+ * JSONByteTokener on an ExecutorService supplied by the caller while the scan
+ * continues. The results are put into one JSONArray in their original order.
+ * For example, <pre>
+ * JSONParallelArrayParser parser = new JSONParallelArrayParser(executor, 1 &lt;&lt; 20);
+ * JSONArray records = parser.parse(new File("records.json"));</pre>
+ * <p>
+ * The result is the same as that of the JSONArray constructor, including its
+ * forgiving syntax. If the scan cannot find the end of the array, the text is
+ * parsed again sequentially so that the usual syntax error is reported. The
+ * index in a syntax error found in a run is relative to the start of the run,
+ * whose byte offset is added to the message.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONParallelArrayParser {
+
+    /**
+     * Parse the elements in one run of the outer array. The run holds whole
+     * elements, each followed by its separator, except that the last run
+     * ends just before the closing bracket.
+     */
+    private class Run implements Callable {
+        private final ByteBuffer bytes;
+        private final long start;
+
+        Run(ByteBuffer bytes, long start) {
+            this.bytes = bytes;
+            this.start = start;
+        }
+
+        public Object call() throws JSONException {
+            JSONByteTokener x = new JSONByteTokener(bytes);
+            ArrayList values = new ArrayList();
+            try {
+                for (;;) {
+                    char c = x.nextClean();
+                    if (c == 0) {
+                        return values;
+                    }
+                    x.back();
+                    if (c == ',') {
+                        values.add(JSONObject.NULL);
+                    } else {
+                        values.add(x.nextValue());
+                    }
+                    switch (x.nextClean()) {
+                    case ';':
+                    case ',':
+                        break;
+                    case 0:
+                        return values;
+                    default:
+                        throw x.syntaxError("Expected a ',' or ']'");
+                    }
+                }
+            } catch (JSONException e) {
+                throw new JSONException(e.getMessage() +
+                        " in the chunk at byte " + start, e);
+            }
+        }
+    }
+
+    /**
+     * The state of a scan over the bytes of one text.
+     */
+    private class Scan {
+        private final ByteBuffer  bytes;
+        private final FileChannel channel;
+
+        /**
+         * true if the scan has found the bracket that closes the array.
+         */
+        boolean closed;
+
+        /**
+         * The nesting of brackets and braces, 0 before the outer array.
+         */
+        private int depth;
+
+        private boolean escape;
+
+        /**
+         * The runs that have been submitted, in order.
+         */
+        final LinkedList futures = new LinkedList();
+
+        /**
+         * The quote of the string being scanned, or 0.
+         */
+        private char quote;
+
+        /**
+         * The offset of the first byte of the current run.
+         */
+        private long start;
+
+        /**
+         * true if the scan has stopped, either because the array is closed
+         * or because the text does not start with a bracket.
+         */
+        boolean stopped;
+
+        /**
+         * true while in an unquoted text, where quotes are ordinary
+         * characters.
+         */
+        private boolean text;
+
+        Scan(ByteBuffer bytes, FileChannel channel) {
+            this.bytes = bytes;
+            this.channel = channel;
+        }
+
+        /**
+         * Scan a block of bytes.
+         * @param block The bytes, from 0 to the limit.
+         * @param base  The offset of the block in the text.
+         * @throws JSONException If a run cannot be mapped.
+         */
+        void scan(ByteBuffer block, long base) throws JSONException {
+            int length = block.limit();
+            for (int i = 0; i < length; i += 1) {
+                char c = (char) (block.get(i) & 0xFF);
+                if (quote != 0) {
+                    if (escape) {
+                        escape = false;
+                    } else if (c == '\\') {
+                        escape = true;
+                    } else if (c == quote) {
+                        quote = 0;
+                    }
+                    continue;
+                }
+                if (c == 0) {
+                    stopped = true;
+                    return;
+                }
+                if (depth == 0) {
+                    if (c == '[') {
+                        depth = 1;
+                        start = base + i + 1;
+                    } else if (c > ' ') {
+                        stopped = true;
+                        return;
+                    }
+                    continue;
+                }
+                if (c < ' ' || JSONTokener.isDelimiter(c)) {
+                    text = false;
+                    switch (c) {
+                    case '"':
+                        quote = c;
+                        break;
+                    case '[':
+                    case '{':
+                        depth += 1;
+                        break;
+                    case ']':
+                    case '}':
+                        if (depth == 1 && c == '}') {
+                            // Only a bracket closes the outer array. The
+                            // sequential parse reports the mismatch.
+                            stopped = true;
+                            return;
+                        }
+                        depth -= 1;
+                        if (depth == 0) {
+                            submit(start, base + i);
+                            closed = true;
+                            stopped = true;
+                            return;
+                        }
+                        break;
+                    case ',':
+                    case ';':
+                        if (depth == 1 && base + i + 1 - start >= chunkSize) {
+                            submit(start, base + i + 1);
+                            start = base + i + 1;
+                        }
+                        break;
+                    }
+                } else if (c == '\'' && !text) {
+                    quote = c;
+                } else if (c != ' ') {
+                    text = true;
+                }
+            }
+        }
+
+        /**
+         * Submit a run to the executor.
+         * @param from The offset of the first byte of the run.
+         * @param to   The offset after the last byte of the run.
+         * @throws JSONException If the run cannot be mapped.
+         */
+        private void submit(long from, long to) throws JSONException {
+            ByteBuffer run;
+            if (bytes != null) {
+                run = bytes.duplicate();
+                run.limit((int) to);
+                run.position((int) from);
+            } else {
+                try {
+                    run = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+                } catch (IOException exception) {
+                    throw new JSONException(exception);
+                }
+            }
+            futures.addLast(executor.submit(new Run(run, from)));
+        }
+    }
+
+    private final int             chunkSize;
+    private final ExecutorService executor;
+
+    /**
+     * Make a JSONParallelArrayParser.
+     * @param executor  The ExecutorService that parses the runs.
+     * @param chunkSize The approximate number of bytes in a run.
+     */
+    public JSONParallelArrayParser(ExecutorService executor, int chunkSize) {
+        this.executor = executor;
+        this.chunkSize = chunkSize > 0 ? chunkSize : 1;
+    }
+
+    /**
+     * Build a JSONArray from the bytes between the position and the limit of
+     * a ByteBuffer.
+     * @param bytes The UTF-8 encoded text of an array.
+     * @return A JSONArray.
+     * @throws JSONException If there is a syntax error, or if the thread is
+     *  interrupted while waiting.
+     */
+    public JSONArray parse(ByteBuffer bytes) throws JSONException {
+        ByteBuffer text = bytes.slice();
+        Scan scan = new Scan(text, null);
+        scan.scan(text, 0);
+        if (!scan.closed) {
+            cancel(scan.futures);
+            return new JSONArray(new JSONByteTokener(text));
+        }
+        return collect(scan.futures);
+    }
+
+    /**
+     * Build a JSONArray from a file. The file is read in blocks for the scan,
+     * and each run is memory mapped for the thread that parses it.
+     * @param file A file containing the UTF-8 encoded text of an array.
+     * @return A JSONArray.
+     * @throws JSONException If the file cannot be read, if there is a syntax
+     *  error, or if the thread is interrupted while waiting.
+     */
+    public JSONArray parse(File file) throws JSONException {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+            Scan scan = new Scan(null, channel);
+            ByteBuffer block = ByteBuffer.allocate(1 << 16);
+            long base = 0;
+            while (!scan.stopped) {
+                block.clear();
+                int n = channel.read(block, base);
+                if (n < 0) {
+                    break;
+                }
+                block.flip();
+                scan.scan(block, base);
+                base += n;
+            }
+            if (!scan.closed) {
+                cancel(scan.futures);
+                JSONMappedTokener x = new JSONMappedTokener(file);
+                try {
+                    return new JSONArray(x);
+                } finally {
+                    x.close();
+                }
+            }
+            return collect(scan.futures);
+        } catch (IOException exception) {
+            throw new JSONException(exception);
+        } finally {
+            if (raf != null) {
+                try {
+                    raf.close();
+                } catch (IOException ignore) {
+                }
+            }
+        }
+    }
+
+    private static void cancel(List futures) {
+        Iterator iterator = futures.iterator();
+        while (iterator.hasNext()) {
+            ((Future) iterator.next()).cancel(false);
+        }
+    }
+
+    /**
+     * Wait for the runs and put their values into one JSONArray, in order.
+     * @param futures The futures of the runs.
+     * @return A JSONArray.
+     * @throws JSONException If a run has a syntax error, or if the thread is
+     *  interrupted while waiting.
+     */
+    private static JSONArray collect(LinkedList futures) throws JSONException {
+        JSONArray ja = new JSONArray();
+        try {
+            while (!futures.isEmpty()) {
+                List values = (List) ((Future) futures.removeFirst()).get();
+                for (int i = 0; i < values.size(); i += 1) {
+                    ja.put(values.get(i));
+                }
+            }
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new JSONException(e);
+        } catch (ExecutionException e) {
+            cancel(futures);
+            if (e.getCause() instanceof JSONException) {
+                throw (JSONException) e.getCause();
+            }
+            throw new JSONException(e.getCause());
+        }
+        return ja;
+    }
+}
@@ -0,0 +1,373 @@
+package org.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONParallelLineReader reads newline-delimited UTF-8 JSON on several
+ * threads at once. The input is cut into chunks of about
+ * <code>chunkSize</code> bytes, each ending just after a newline, and each
+ * chunk is parsed by its own JSONByteTokener and JSONLineReader on an
+ * ExecutorService supplied by the caller. A newline byte can never be part of
+ * a multi-byte UTF-8 sequence, so the chunks can be found without decoding.
+ * <p>
+ * The records are delivered either in the order of the input, or in the order
+ * in which their chunks are finished, which keeps every thread busy when
+ * chunks take unequal time. Only a few chunks per thread are in flight at
+ * once, so memory use does not grow with the size of the input. For example,
+ * <pre>
+ * ExecutorService executor = Executors.newFixedThreadPool(threads);
+ * JSONParallelLineReader lines = new JSONParallelLineReader(
+ *         new File("events.ndjson"), executor, 1 &lt;&lt; 20, false);
+ * while (lines.more()) {
+ *     JSONObject record = lines.nextJSONObject();
+ *     ...
+ * }
+ * lines.close();</pre>
+ * <p>
+ * The index in a syntax error is relative to the start of the chunk, whose
+ * byte offset is added to the message.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONParallelLineReader implements Iterator {
+
+    /**
+     * Parse the lines of one chunk.
+     */
+    private class Chunk implements Callable {
+        private final long end;
+        private final long start;
+
+        Chunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public Object call() throws JSONException {
+            JSONLineReader lines = new JSONLineReader(
+                    new JSONByteTokener(region(start, end)));
+            ArrayList records = new ArrayList();
+            try {
+                while (lines.more()) {
+                    records.add(lines.nextJSONObject());
+                }
+            } catch (JSONException e) {
+                throw new JSONException(e.getMessage() +
+                        " in the chunk at byte " + start, e);
+            }
+            return records;
+        }
+    }
+
+    private final ByteBuffer       bytes;
+    private final FileChannel      channel;
+    private final int              chunkSize;
+    private final CompletionService completion;
+    private final ExecutorService  executor;
+    private final RandomAccessFile file;
+    private final LinkedList       futures;
+    private final int              maxPending;
+    private final long             length;
+    private final boolean          ordered;
+
+    /**
+     * The number of chunks submitted that have not yet been taken.
+     */
+    private int pending;
+
+    /**
+     * The records of the current chunk, and the next one to deliver.
+     */
+    private List records;
+    private int recordIndex;
+
+    /**
+     * The offset of the first byte that has not been given to a chunk.
+     */
+    private long start;
+
+    /**
+     * Make a JSONParallelLineReader for the bytes between the position and
+     * the limit of a ByteBuffer.
+     * @param bytes     The UTF-8 encoded text.
+     * @param executor  The ExecutorService that parses the chunks.
+     * @param chunkSize The approximate number of bytes in a chunk.
+     * @param ordered   true if the records must be delivered in the order of
+     *  the input.
+     */
+    public JSONParallelLineReader(ByteBuffer bytes, ExecutorService executor,
+            int chunkSize, boolean ordered) {
+        this.bytes = bytes.slice();
+        this.channel = null;
+        this.file = null;
+        this.length = this.bytes.remaining();
+        this.chunkSize = chunkSize > 0 ? chunkSize : 1;
+        this.executor = executor;
+        this.ordered = ordered;
+        this.completion = ordered ? null : new ExecutorCompletionService(executor);
+        this.futures = new LinkedList();
+        this.maxPending = Runtime.getRuntime().availableProcessors() * 2;
+        this.start = 0;
+    }
+
+    /**
+     * Make a JSONParallelLineReader for a file. Each chunk is memory mapped
+     * by the thread that parses it. The file stays open until
+     * <code>close</code> is called.
+     * @param file      A file containing UTF-8 encoded text.
+     * @param executor  The ExecutorService that parses the chunks.
+     * @param chunkSize The approximate number of bytes in a chunk.
+     * @param ordered   true if the records must be delivered in the order of
+     *  the input.
+     * @throws JSONException If the file cannot be opened.
+     */
+    public JSONParallelLineReader(File file, ExecutorService executor,
+            int chunkSize, boolean ordered) throws JSONException {
+        this.bytes = null;
+        try {
+            this.file = new RandomAccessFile(file, "r");
+            this.channel = this.file.getChannel();
+            this.length = this.channel.size();
+        } catch (IOException exception) {
+            throw new JSONException(exception);
+        }
+        this.chunkSize = chunkSize > 0 ? chunkSize : 1;
+        this.executor = executor;
+        this.ordered = ordered;
+        this.completion = ordered ? null : new ExecutorCompletionService(executor);
+        this.futures = new LinkedList();
+        this.maxPending = Runtime.getRuntime().availableProcessors() * 2;
+        this.start = 0;
+    }
+
+    /**
+     * Cancel the chunks that have not been taken and close the file, if
+     * there is one. The ExecutorService is not shut down.
+     * @throws JSONException If the file cannot be closed.
+     */
+    public void close() throws JSONException {
+        while (!futures.isEmpty()) {
+            ((Future) futures.removeFirst()).cancel(false);
+        }
+        records = null;
+        start = length;
+        pending = 0;
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException exception) {
+                throw new JSONException(exception);
+            }
+        }
+    }
+
+    /**
+     * Determine if there is another record, waiting for a chunk to be parsed
+     * if necessary.
+     * @return true if there is another record.
+     * @throws JSONException If a chunk has a syntax error or cannot be read,
+     *  or if the thread is interrupted while waiting.
+     */
+    public boolean more() throws JSONException {
+        while (records == null || recordIndex >= records.size()) {
+            submit();
+            if (pending == 0) {
+                return false;
+            }
+            Future future;
+            try {
+                if (ordered) {
+                    future = (Future) futures.removeFirst();
+                } else {
+                    future = completion.take();
+                    futures.remove(future);
+                }
+                pending -= 1;
+                records = (List) future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JSONException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof JSONException) {
+                    throw (JSONException) e.getCause();
+                }
+                throw new JSONException(e.getCause());
+            }
+            recordIndex = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Get the next record.
+     * @return A JSONObject.
+     * @throws JSONException If there are no more records, or if a chunk has a
+     *  syntax error or cannot be read.
+     */
+    public JSONObject nextJSONObject() throws JSONException {
+        if (!more()) {
+            throw new JSONException("No more records");
+        }
+        JSONObject jo = (JSONObject) records.get(recordIndex);
+        records.set(recordIndex, null);
+        recordIndex += 1;
+        return jo;
+    }
+
+    /**
+     * Determine if there is another record.
+     * @return true if there is another record.
+     * @throws RuntimeException If a chunk cannot be parsed.
+     */
+    public boolean hasNext() {
+        try {
+            return more();
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Get the next record.
+     * @return A JSONObject.
+     * @throws NoSuchElementException If there are no more records.
+     * @throws RuntimeException If a chunk cannot be parsed.
+     */
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return nextJSONObject();
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Records cannot be removed.
+     * @throws UnsupportedOperationException Always.
+     */
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Find the end of the chunk that starts at <code>start</code>: the
+     * offset just after the first newline at or beyond
+     * <code>start + chunkSize - 1</code>, or the end of the input.
+     * @return The offset of the end of the chunk.
+     * @throws JSONException If the file cannot be read.
+     */
+    private long boundary() throws JSONException {
+        long at = start + chunkSize - 1;
+        if (at >= length) {
+            return length;
+        }
+        if (bytes != null) {
+            while (at < length) {
+                if (bytes.get((int) at) == '\n') {
+                    return at + 1;
+                }
+                at += 1;
+            }
+            return length;
+        }
+        ByteBuffer scan = ByteBuffer.allocate(4096);
+        try {
+            while (at < length) {
+                scan.clear();
+                int n = channel.read(scan, at);
+                if (n <= 0) {
+                    break;
+                }
+                for (int i = 0; i < n; i += 1) {
+                    if (scan.get(i) == '\n') {
+                        return at + i + 1;
+                    }
+                }
+                at += n;
+            }
+        } catch (IOException exception) {
+            throw new JSONException(exception);
+        }
+        return length;
+    }
+
+    /**
+     * Get the bytes of a chunk.
+     * @param from The offset of the first byte.
+     * @param to   The offset after the last byte.
+     * @return A ByteBuffer holding the chunk.
+     * @throws JSONException If the file cannot be mapped.
+     */
+    private ByteBuffer region(long from, long to) throws JSONException {
+        if (bytes != null) {
+            ByteBuffer region = bytes.duplicate();
+            region.limit((int) to);
+            region.position((int) from);
+            return region;
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        } catch (IOException exception) {
+            throw new JSONException(exception);
+        }
+    }
+
+    /**
+     * Submit chunks until enough are in flight or the input is exhausted.
+     * @throws JSONException If the file cannot be read.
+     */
+    private void submit() throws JSONException {
+        while (pending < maxPending && start < length) {
+            long end = boundary();
+            Chunk chunk = new Chunk(start, end);
+            futures.addLast(ordered
+                ? executor.submit(chunk)
+                : completion.submit(chunk));
+            pending += 1;
+            start = end;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package org.json;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONProjection parses only the parts of a JSON text that are asked for.
+ * It is made from a set of paths in the style of JSON Pointer, such as
+ * <code>/user/id</code> and <code>/meta/region</code>, each naming a member
+ * of an object that may be nested in other objects. Its <code>parse</code>
+ * method returns a sparse JSONObject holding just those members and the
+ * objects that lead to them. Every other value is skipped without being
+ * built: no Strings, JSONObjects, JSONArrays or numbers are made for it.
+ * Parsing stops as soon as every path has been found, so the rest of the
+ * text is never read. For example, <pre>
+ * JSONProjection projection = new JSONProjection(new String[] {
+ *     "/user/id", "/meta/region"
+ * });
+ * JSONObject routing = projection.parse(document);
+ * String region = routing.getJSONObject("meta").getString("region");</pre>
+ * <p>
+ * In a path, <code>~1</code> stands for <code>/</code> and <code>~0</code>
+ * stands for <code>~</code>. A path that names a value that is an object or
+ * array returns the whole value. Members of arrays cannot be selected. If
+ * one path is a prefix of another, the shorter one wins. A JSONProjection
+ * can be shared by many threads.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONProjection {
+
+    /**
+     * A step in the paths: the members wanted from an object.
+     */
+    private static class Node {
+
+        /**
+         * The names of the members wanted from this object, mapped to their
+         * Nodes, or null if this Node ends a path.
+         */
+        HashMap children;
+    }
+
+    /**
+     * The number of paths that end in a member, after shorter paths have
+     * absorbed longer ones.
+     */
+    private final int leaves;
+
+    private final Node root;
+
+    /**
+     * Make a JSONProjection from a set of paths.
+     * @param paths The paths, each beginning with <code>/</code>.
+     * @throws JSONException If a path does not begin with <code>/</code>.
+     */
+    public JSONProjection(String[] paths) throws JSONException {
+        root = new Node();
+        root.children = new HashMap();
+        for (int i = 0; i < paths.length; i += 1) {
+            String path = paths[i];
+            if (!path.startsWith("/")) {
+                throw new JSONException("A path must begin with '/': " + path);
+            }
+            Node node = root;
+            int start = 1;
+            for (;;) {
+                int end = path.indexOf('/', start);
+                String name = unescape(path.substring(start,
+                        end < 0 ? path.length() : end));
+                Node child = (Node) node.children.get(name);
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(name, child);
+                } else if (child.children == null) {
+                    break;
+                }
+                if (end < 0) {
+                    child.children = null;
+                    break;
+                }
+                if (child.children == null) {
+                    child.children = new HashMap();
+                }
+                node = child;
+                start = end + 1;
+            }
+        }
+        leaves = count(root);
+    }
+
+    /**
+     * Parse the members named by the paths from a source JSON text.
+     * @param source A string beginning with <code>{</code>.
+     * @return A JSONObject holding the members that were found.
+     * @throws JSONException If there is a syntax error in the part of the
+     *  text that is read.
+     */
+    public JSONObject parse(String source) throws JSONException {
+        return parse(new JSONTokener(source));
+    }
+
+    /**
+     * Parse the members named by the paths from a JSONTokener. When all of
+     * them have been found, the tokener is left just after the last one.
+     * @param x A JSONTokener positioned at an object.
+     * @return A JSONObject holding the members that were found.
+     * @throws JSONException If there is a syntax error in the part of the
+     *  text that is read, or if a member that is kept is duplicated.
+     */
+    public JSONObject parse(JSONTokener x) throws JSONException {
+        JSONObject jo = new JSONObject();
+        int[] remaining = {leaves};
+        parse(x, root, jo, remaining);
+        return jo;
+    }
+
+    /**
+     * Count the paths that end at or below a Node.
+     */
+    private static int count(Node node) {
+        if (node.children == null) {
+            return 1;
+        }
+        int count = 0;
+        Iterator iterator = node.children.values().iterator();
+        while (iterator.hasNext()) {
+            count += count((Node) iterator.next());
+        }
+        return count;
+    }
+
+    /**
+     * Parse an object with the grammar of the JSONObject constructor,
+     * keeping only the members wanted by a Node.
+     * @param x         The JSONTokener.
+     * @param node      The Node for this object.
+     * @param jo        The JSONObject that receives the members kept.
+     * @param remaining The number of paths not yet found, in a box.
+     * @throws JSONException If there is a syntax error.
+     */
+    private static void parse(JSONTokener x, Node node, JSONObject jo,
+            int[] remaining) throws JSONException {
+        if (x.nextClean() != '{') {
+            throw x.syntaxError("A JSONObject text must begin with '{'");
+        }
+        for (;;) {
+            char c = x.nextClean();
+            switch (c) {
+            case 0:
+                throw x.syntaxError("A JSONObject text must end with '}'");
+            case '}':
+                return;
+            default:
+                x.back();
+            }
+            String key = x.nextKey();
+
+            // The key is followed by ':'. We will also tolerate '=' or '=>'.
+
+            c = x.nextClean();
+            if (c == '=') {
+                if (x.next() != '>') {
+                    x.back();
+                }
+            } else if (c != ':') {
+                throw x.syntaxError("Expected a ':' after a key");
+            }
+            Node child = (Node) node.children.get(key);
+            if (child == null) {
+                x.skipValue();
+            } else if (child.children == null) {
+                jo.putOnce(key, x.nextValue());
+                remaining[0] -= 1;
+            } else {
+                c = x.nextClean();
+                x.back();
+                if (c == '{') {
+                    JSONObject inner = new JSONObject();
+                    parse(x, child, inner, remaining);
+                    jo.putOnce(key, inner);
+                } else {
+                    x.skipValue();
+                }
+            }
+            if (remaining[0] == 0) {
+                return;
+            }
+
+            // Pairs are separated by ','. We will also tolerate ';'.
+
+            switch (x.nextClean()) {
+            case ';':
+            case ',':
+                if (x.nextClean() == '}') {
+                    return;
+                }
+                x.back();
+                break;
+            case '}':
+                return;
+            default:
+                throw x.syntaxError("Expected a ',' or '}'");
+            }
+        }
+    }
+
+    /**
+     * Decode the <code>~1</code> and <code>~0</code> escapes of a path
+     * segment.
+     */
+    private static String unescape(String name) {
+        if (name.indexOf('~') < 0) {
+            return name;
+        }
+        StringBuffer sb = new StringBuffer(name.length());
+        for (int i = 0; i < name.length(); i += 1) {
+            char c = name.charAt(i);
+            if (c == '~' && i + 1 < name.length()) {
+                char d = name.charAt(i + 1);
+                if (d == '1' || d == '0') {
+                    sb.append(d == '1' ? '/' : '~');
+                    i += 1;
+                    continue;
+                }
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,610 @@
+package org.json;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONPushParser parses UTF-8 encoded JSON text that arrives in chunks of
+ * any size, without ever blocking. Each chunk is given to <code>feed</code>,
+ * which parses as much of it as it can and keeps its state, even in the
+ * middle of a string, a number, a <code>&#92;u</code> escape or a multi-byte
+ * character. <code>endOfInput</code> is called after the last chunk.
+ * <p>
+ * The input is a sequence of values, separated by whitespace if needed. Each
+ * top-level value is available from <code>nextValue</code> as soon as its last
+ * character has been fed, so parsing overlaps with receiving. For example, <pre>
+ * JSONPushParser parser = new JSONPushParser();
+ * // for each chunk read from the channel
+ * parser.feed(chunk);
+ * while (parser.hasNext()) {
+ *     handle(parser.nextValue());
+ * }
+ * // at the end of the stream
+ * parser.endOfInput();</pre>
+ * <p>
+ * It accepts the same forgiving syntax as the JSONObject and JSONArray
+ * constructors, and produces the same values. After a syntax error has been
+ * thrown, the parser cannot be used any more.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONPushParser {
+
+    /**
+     * The modes of the character level:
+     * 'c' (structure),
+     * 'e' (after a backslash in a string),
+     * 'h' (in the hex digits of a &#92;u escape),
+     * 's' (in a string),
+     * 'u' (in unquoted text).
+     */
+    private char mode;
+
+    /**
+     * The phases of an open object.
+     */
+    private static final int OBJECT_FIRST       = 0;
+    private static final int OBJECT_KEY         = 1;
+    private static final int OBJECT_AFTER_KEY   = 2;
+    private static final int OBJECT_EQUALS      = 3;
+    private static final int OBJECT_VALUE       = 4;
+    private static final int OBJECT_AFTER_VALUE = 5;
+    private static final int OBJECT_AFTER_COMMA = 6;
+
+    /**
+     * The phases of an open array.
+     */
+    private static final int ARRAY_FIRST        = 7;
+    private static final int ARRAY_ELEMENT      = 8;
+    private static final int ARRAY_AFTER_VALUE  = 9;
+    private static final int ARRAY_AFTER_COMMA  = 10;
+
+    private long           character;
+    private char[]         chars;
+    private Object[]       containers;
+    private boolean        ended;
+    private JSONException  failure;
+    private int            hex;
+    private int            hexCount;
+    private long           index;
+    private String[]       keys;
+    private int            length;
+    private long           line;
+    private int[]          phases;
+    private char           previous;
+    private char           quote;
+    private int            top;
+    private int            utf8Code;
+    private int            utf8Min;
+    private int            utf8Need;
+    private final LinkedList values;
+
+    /**
+     * Make a JSONPushParser.
+     */
+    public JSONPushParser() {
+        mode = 'c';
+        chars = new char[64];
+        containers = new Object[16];
+        keys = new String[16];
+        phases = new int[16];
+        values = new LinkedList();
+        character = 1;
+        line = 1;
+    }
+
+    /**
+     * Signal that all of the input has been fed. Any value that was still
+     * open is completed, or reported as a syntax error.
+     * @throws JSONException If the input ends in the middle of a value.
+     */
+    public void endOfInput() throws JSONException {
+        check();
+        try {
+            if (utf8Need > 0) {
+                utf8Need = 0;
+                character(0xFFFD);
+            }
+            symbol((char)0);
+            if (top > 0) {
+                throw syntaxError("Unterminated value");
+            }
+            ended = true;
+        } catch (JSONException exception) {
+            failure = exception;
+            throw exception;
+        }
+    }
+
+    /**
+     * Parse the remaining bytes of a buffer. The position of the buffer is
+     * advanced to its limit.
+     * @param buffer A buffer holding the next chunk of UTF-8 encoded text.
+     * @throws JSONException If there is a syntax error.
+     */
+    public void feed(ByteBuffer buffer) throws JSONException {
+        check();
+        try {
+            while (buffer.hasRemaining()) {
+                if (mode == 's' && utf8Need == 0) {
+                    int position = buffer.position();
+                    int limit = buffer.limit();
+                    int start = position;
+                    while (position < limit) {
+                        int b = buffer.get(position);
+                        if (b < ' ' || b == quote || b == '\\') {
+                            break;
+                        }
+                        if (length == chars.length) {
+                            grow();
+                        }
+                        chars[length] = (char)b;
+                        length += 1;
+                        position += 1;
+                    }
+                    if (position > start) {
+                        index += position - start;
+                        character += position - start;
+                        previous = chars[length - 1];
+                        buffer.position(position);
+                        if (position == limit) {
+                            return;
+                        }
+                    }
+                }
+                index += 1;
+                accept(buffer.get() & 0xFF);
+            }
+        } catch (JSONException exception) {
+            failure = exception;
+            throw exception;
+        }
+    }
+
+    /**
+     * Parse a chunk of bytes.
+     * @param bytes  A byte array holding the next chunk of UTF-8 encoded text.
+     * @param offset The offset of the chunk.
+     * @param length The number of bytes in the chunk.
+     * @throws JSONException If there is a syntax error.
+     */
+    public void feed(byte[] bytes, int offset, int length) throws JSONException {
+        feed(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Determine if a completed top-level value is waiting.
+     * @return true if <code>nextValue</code> will return a value.
+     */
+    public boolean hasNext() {
+        return !values.isEmpty();
+    }
+
+    /**
+     * Get the next completed top-level value: a JSONObject, JSONArray,
+     * String, Number, Boolean, or JSONObject.NULL.
+     * @return The value, or null if no value has been completed.
+     */
+    public Object nextValue() {
+        return values.isEmpty() ? null : values.removeFirst();
+    }
+
+    /**
+     * Make a printable string of the position of this JSONPushParser.
+     *
+     * @return " at {index} [character {character} line {line}]"
+     */
+    public String toString() {
+        return " at " + index + " [character " + character + " line " +
+            line + "]";
+    }
+
+    /**
+     * Accept a byte, decoding UTF-8 sequences. An overlong sequence, which
+     * could otherwise smuggle in a quote or a bracket, is decoded as U+FFFD.
+     * @param b A byte, between 0 and 255.
+     */
+    private void accept(int b) throws JSONException {
+        if (utf8Need > 0) {
+            if ((b & 0xC0) == 0x80) {
+                utf8Code = (utf8Code << 6) | (b & 0x3F);
+                utf8Need -= 1;
+                if (utf8Need == 0) {
+                    character(utf8Code < utf8Min ? 0xFFFD : utf8Code);
+                }
+                return;
+            }
+            utf8Need = 0;
+            character(0xFFFD);
+        }
+        if (b < 0x80) {
+            character(b);
+        } else if (b >= 0xC2 && b < 0xE0) {
+            utf8Code = b & 0x1F;
+            utf8Min = 0x80;
+            utf8Need = 1;
+        } else if (b >= 0xE0 && b < 0xF0) {
+            utf8Code = b & 0x0F;
+            utf8Min = 0x800;
+            utf8Need = 2;
+        } else if (b >= 0xF0 && b < 0xF5) {
+            utf8Code = b & 0x07;
+            utf8Min = 0x10000;
+            utf8Need = 3;
+        } else {
+            character(0xFFFD);
+        }
+    }
+
+    /**
+     * Add a character to the string or unquoted text being read.
+     * @param c A character.
+     */
+    private void append(char c) {
+        if (length == chars.length) {
+            grow();
+        }
+        chars[length] = c;
+        length += 1;
+    }
+
+    /**
+     * Accept a decoded character, updating the position.
+     * @param cp A code point.
+     */
+    private void character(int cp) throws JSONException {
+        if (cp >= 0xD800 && cp < 0xE000 || cp > 0x10FFFF) {
+            cp = 0xFFFD;
+        }
+        if (previous == '\r') {
+            line += 1;
+            character = cp == '\n' ? 0 : 1;
+        } else if (cp == '\n') {
+            line += 1;
+            character = 0;
+        } else {
+            character += 1;
+        }
+        if (cp < 0x10000) {
+            previous = (char)cp;
+            symbol(previous);
+        } else {
+            cp -= 0x10000;
+            previous = (char)(0xDC00 + (cp & 0x3FF));
+            symbol((char)(0xD800 + (cp >> 10)));
+            symbol(previous);
+        }
+    }
+
+    /**
+     * Throw the syntax error that stopped this parser, or an exception if the
+     * input has ended.
+     */
+    private void check() throws JSONException {
+        if (failure != null) {
+            throw failure;
+        }
+        if (ended) {
+            throw new JSONException("The input has ended.");
+        }
+    }
+
+    /**
+     * Close the innermost object or array, and complete it as a value.
+     */
+    private void close() throws JSONException {
+        top -= 1;
+        Object container = containers[top];
+        containers[top] = null;
+        keys[top] = null;
+        complete(container);
+    }
+
+    /**
+     * Deliver a completed value to the innermost container, or to the queue
+     * of top-level values.
+     * @param value The value.
+     */
+    private void complete(Object value) throws JSONException {
+        if (top == 0) {
+            values.add(value);
+            return;
+        }
+        Object container = containers[top - 1];
+        if (container instanceof JSONArray) {
+            ((JSONArray)container).put(value);
+            phases[top - 1] = ARRAY_AFTER_VALUE;
+        } else if (phases[top - 1] == OBJECT_KEY) {
+            keys[top - 1] = value.toString();
+            phases[top - 1] = OBJECT_AFTER_KEY;
+        } else {
+            ((JSONObject)container).putOnce(keys[top - 1], value);
+            phases[top - 1] = OBJECT_AFTER_VALUE;
+        }
+    }
+
+    /**
+     * Enlarge the character buffer.
+     */
+    private void grow() {
+        char[] newChars = new char[chars.length * 2];
+        System.arraycopy(chars, 0, newChars, 0, length);
+        chars = newChars;
+    }
+
+    /**
+     * Open an object or array.
+     * @param container A new JSONObject or JSONArray.
+     * @param phase     OBJECT_FIRST or ARRAY_FIRST.
+     */
+    private void push(Object container, int phase) {
+        if (top == containers.length) {
+            int size = top * 2;
+            Object[] newContainers = new Object[size];
+            String[] newKeys = new String[size];
+            int[] newPhases = new int[size];
+            System.arraycopy(containers, 0, newContainers, 0, top);
+            System.arraycopy(keys, 0, newKeys, 0, top);
+            System.arraycopy(phases, 0, newPhases, 0, top);
+            containers = newContainers;
+            keys = newKeys;
+            phases = newPhases;
+        }
+        containers[top] = container;
+        phases[top] = phase;
+        top += 1;
+    }
+
+    /**
+     * Begin a value.
+     * @param c The first character of the value.
+     */
+    private void startValue(char c) throws JSONException {
+        switch (c) {
+        case '{':
+            push(new JSONObject(), OBJECT_FIRST);
+            return;
+        case '[':
+            push(new JSONArray(), ARRAY_FIRST);
+            return;
+        case '"':
+        case '\'':
+            quote = c;
+            length = 0;
+            mode = 's';
+            return;
+        }
+        length = 0;
+        mode = 'u';
+        symbol(c);
+    }
+
+    /**
+     * Accept a character in the structure between values.
+     * @param c A character, or 0 at the end of the input.
+     */
+    private void structure(char c) throws JSONException {
+        boolean white = c > 0 && c <= ' ';
+        if (top == 0) {
+            if (c > ' ') {
+                startValue(c);
+            }
+            return;
+        }
+        int phase = phases[top - 1];
+        switch (phase) {
+        case OBJECT_FIRST:
+            if (white) {
+                return;
+            }
+            if (c == 0) {
+                throw syntaxError("A JSONObject text must end with '}'");
+            }
+            if (c == '}') {
+                close();
+                return;
+            }
+            phases[top - 1] = OBJECT_KEY;
+            startValue(c);
+            return;
+        case OBJECT_AFTER_KEY:
+            if (white) {
+                return;
+            }
+            if (c == ':') {
+                phases[top - 1] = OBJECT_VALUE;
+            } else if (c == '=') {
+                phases[top - 1] = OBJECT_EQUALS;
+            } else {
+                throw syntaxError("Expected a ':' after a key");
+            }
+            return;
+        case OBJECT_EQUALS:
+            phases[top - 1] = OBJECT_VALUE;
+            if (c != '>') {
+                structure(c);
+            }
+            return;
+        case OBJECT_VALUE:
+            if (!white) {
+                startValue(c);
+            }
+            return;
+        case OBJECT_AFTER_VALUE:
+            if (white) {
+                return;
+            }
+            if (c == ',' || c == ';') {
+                phases[top - 1] = OBJECT_AFTER_COMMA;
+            } else if (c == '}') {
+                close();
+            } else {
+                throw syntaxError("Expected a ',' or '}'");
+            }
+            return;
+        case OBJECT_AFTER_COMMA:
+            if (white) {
+                return;
+            }
+            if (c == '}') {
+                close();
+            } else {
+                phases[top - 1] = OBJECT_KEY;
+                startValue(c);
+            }
+            return;
+        case ARRAY_FIRST:
+        case ARRAY_AFTER_COMMA:
+            if (white) {
+                return;
+            }
+            if (c == ']') {
+                close();
+            } else {
+                phases[top - 1] = ARRAY_ELEMENT;
+                structure(c);
+            }
+            return;
+        case ARRAY_ELEMENT:
+            if (white) {
+                return;
+            }
+            if (c == ',') {
+                complete(JSONObject.NULL);
+                structure(c);
+            } else {
+                startValue(c);
+            }
+            return;
+        case ARRAY_AFTER_VALUE:
+            if (white) {
+                return;
+            }
+            if (c == ',' || c == ';') {
+                phases[top - 1] = ARRAY_AFTER_COMMA;
+            } else if (c == ']') {
+                close();
+            } else {
+                throw syntaxError("Expected a ',' or ']'");
+            }
+            return;
+        }
+    }
+
+    /**
+     * Accept a character.
+     * @param c A character, or 0 at the end of the input.
+     */
+    private void symbol(char c) throws JSONException {
+        switch (mode) {
+        case 's':
+            if (c == quote) {
+                mode = 'c';
+                complete(new String(chars, 0, length));
+            } else if (c == '\\') {
+                mode = 'e';
+            } else if (c == 0 || c == '\n' || c == '\r') {
+                throw syntaxError("Unterminated string");
+            } else {
+                append(c);
+            }
+            return;
+        case 'e':
+            mode = 's';
+            switch (c) {
+            case 'b':
+                append('\b');
+                break;
+            case 't':
+                append('\t');
+                break;
+            case 'n':
+                append('\n');
+                break;
+            case 'f':
+                append('\f');
+                break;
+            case 'r':
+                append('\r');
+                break;
+            case 'u':
+                mode = 'h';
+                hex = 0;
+                hexCount = 0;
+                break;
+            case '"':
+            case '\'':
+            case '\\':
+            case '/':
+                append(c);
+                break;
+            default:
+                throw syntaxError("Illegal escape.");
+            }
+            return;
+        case 'h':
+            if (c == 0) {
+                throw syntaxError("Substring bounds error");
+            }
+            int digit = JSONTokener.dehexchar(c);
+            if (digit < 0) {
+                throw syntaxError("Illegal escape.");
+            }
+            hex = (hex << 4) | digit;
+            hexCount += 1;
+            if (hexCount == 4) {
+                append((char)hex);
+                mode = 's';
+            }
+            return;
+        case 'u':
+            if (c >= ' ' && !JSONTokener.isDelimiter(c)) {
+                append(c);
+                return;
+            }
+            mode = 'c';
+            Object value = JSONObject.stringToValue(chars, 0, length);
+            if ("".equals(value)) {
+                throw syntaxError("Missing value");
+            }
+            complete(value);
+            break;
+        }
+        structure(c);
+    }
+
+    /**
+     * Make a JSONException to signal a syntax error.
+     *
+     * @param message The error message.
+     * @return  A JSONException object, suitable for throwing
+     */
+    private JSONException syntaxError(String message) {
+        return new JSONException(message + toString());
+    }
+}
@@ -0,0 +1,452 @@
+package org.json;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONReader is a pull parser layered on a JSONTokener. Instead of building
+ * a JSONObject or JSONArray for the whole text, it reports the text as a
+ * sequence of events, one for each call to <code>next</code>. Only the
+ * nesting of the containers that are open is kept, so a text of any size can
+ * be walked in constant memory. It accepts the same forgiving syntax as the
+ * JSONObject and JSONArray constructors.
+ * <p>
+ * When <code>peek</code> reports <code>START_OBJECT</code> or
+ * <code>START_ARRAY</code>, the caller can instead use
+ * <code>nextJSONObject</code>, <code>nextJSONArray</code> or
+ * <code>nextValue</code> to build a tree for just that value. For example, <pre>
+ * JSONReader reader = new JSONReader(new JSONTokener(myReader, 8192));
+ * reader.next(); // START_ARRAY
+ * while (reader.peek() == JSONReader.START_OBJECT) {
+ *     JSONObject record = reader.nextJSONObject();
+ *     ...
+ * }
+ * reader.next(); // END_ARRAY</pre>
+ * <p>
+ * A sequence of values can follow each other at the top level. When there
+ * are no more, <code>next</code> returns <code>END</code>.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONReader {
+
+    /**
+     * The end of the input.
+     */
+    public static final int END = 0;
+
+    /**
+     * The beginning of an object.
+     */
+    public static final int START_OBJECT = 1;
+
+    /**
+     * The end of an object.
+     */
+    public static final int END_OBJECT = 2;
+
+    /**
+     * The beginning of an array.
+     */
+    public static final int START_ARRAY = 3;
+
+    /**
+     * The end of an array.
+     */
+    public static final int END_ARRAY = 4;
+
+    /**
+     * A key in an object. The key is available from <code>getString</code>.
+     */
+    public static final int KEY = 5;
+
+    /**
+     * A string value, available from <code>getString</code>.
+     */
+    public static final int VALUE_STRING = 6;
+
+    /**
+     * A number value, available from <code>getValue</code>.
+     */
+    public static final int VALUE_NUMBER = 7;
+
+    /**
+     * The value <code>true</code> or <code>false</code>.
+     */
+    public static final int VALUE_BOOLEAN = 8;
+
+    /**
+     * The value <code>null</code>.
+     */
+    public static final int VALUE_NULL = 9;
+
+    private static final int NONE = -1;
+
+    /**
+     * The states of the innermost container:
+     * 'f' (before the first member),
+     * 'k' (after a key),
+     * 'v' (after a value).
+     */
+    private char state;
+
+    /**
+     * The event found by peek that next has not yet returned, or NONE.
+     */
+    private int pending;
+
+    /**
+     * The open containers, 'a' (array) or 'o' (object).
+     */
+    private char stack[];
+
+    /**
+     * The number of open containers.
+     */
+    private int top;
+
+    /**
+     * The key, string, number, Boolean or JSONObject.NULL of the current
+     * event.
+     */
+    private Object value;
+
+    private final JSONTokener x;
+
+    /**
+     * Make a JSONReader that reads events from a JSONTokener.
+     * @param x A JSONTokener.
+     */
+    public JSONReader(JSONTokener x) {
+        this.x = x;
+        pending = NONE;
+        stack = new char[16];
+        state = 'v';
+        top = 0;
+    }
+
+    /**
+     * Get the number of objects and arrays that are open.
+     * @return The depth.
+     */
+    public int depth() {
+        return top;
+    }
+
+    /**
+     * Get the key or the string value of the current event. For other
+     * values, the value is converted to a string.
+     * @return A string, or null if the current event has no value.
+     */
+    public String getString() {
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Get the value of the current event: a String for <code>KEY</code> and
+     * <code>VALUE_STRING</code>, a Number for <code>VALUE_NUMBER</code>, a
+     * Boolean for <code>VALUE_BOOLEAN</code>, or JSONObject.NULL for
+     * <code>VALUE_NULL</code>.
+     * @return The value, or null if the current event has no value.
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Advance to the next event.
+     * @return The event.
+     * @throws JSONException If there is a syntax error.
+     */
+    public int next() throws JSONException {
+        int event = peek();
+        pending = NONE;
+        if (event == START_OBJECT || event == START_ARRAY) {
+            x.next();
+            push(event == START_OBJECT ? 'o' : 'a');
+        }
+        return event;
+    }
+
+    /**
+     * Build a JSONArray from the next value, which must be an array.
+     * @return A JSONArray.
+     * @throws JSONException If the next value is not an array, or if there is
+     *  a syntax error.
+     */
+    public JSONArray nextJSONArray() throws JSONException {
+        if (peek() != START_ARRAY) {
+            throw x.syntaxError("Expected a JSONArray");
+        }
+        pending = NONE;
+        JSONArray ja = new JSONArray(x);
+        state = 'v';
+        return ja;
+    }
+
+    /**
+     * Build a JSONObject from the next value, which must be an object.
+     * @return A JSONObject.
+     * @throws JSONException If the next value is not an object, or if there
+     *  is a syntax error.
+     */
+    public JSONObject nextJSONObject() throws JSONException {
+        if (peek() != START_OBJECT) {
+            throw x.syntaxError("Expected a JSONObject");
+        }
+        pending = NONE;
+        JSONObject jo = new JSONObject(x);
+        state = 'v';
+        return jo;
+    }
+
+    /**
+     * Get the next value. An object or array is built as a JSONObject or
+     * JSONArray.
+     * @return The value.
+     * @throws JSONException If the next event is not the start of a value,
+     *  or if there is a syntax error.
+     */
+    public Object nextValue() throws JSONException {
+        switch (peek()) {
+        case START_OBJECT:
+            return nextJSONObject();
+        case START_ARRAY:
+            return nextJSONArray();
+        case VALUE_STRING:
+        case VALUE_NUMBER:
+        case VALUE_BOOLEAN:
+        case VALUE_NULL:
+            next();
+            return value;
+        }
+        throw x.syntaxError("Expected a value");
+    }
+
+    /**
+     * Get the event that the next call to <code>next</code> will return,
+     * without advancing. The value of a key or scalar event is available
+     * after it is peeked.
+     * @return The event.
+     * @throws JSONException If there is a syntax error.
+     */
+    public int peek() throws JSONException {
+        if (pending == NONE) {
+            pending = advance();
+        }
+        return pending;
+    }
+
+    /**
+     * Skip the next value. If it is an object or array, it is passed over by
+     * the tokener's <code>skipValue</code>, which matches brackets and quotes
+     * without building anything or checking the text inside.
+     * @throws JSONException If the next event is not the start of a value,
+     *  or if the value is not terminated.
+     */
+    public void skipValue() throws JSONException {
+        switch (peek()) {
+        case START_OBJECT:
+        case START_ARRAY:
+            pending = NONE;
+            x.skipValue();
+            state = 'v';
+            return;
+        case KEY:
+        case END_OBJECT:
+        case END_ARRAY:
+        case END:
+            next();
+            throw x.syntaxError("Expected a value");
+        }
+        next();
+    }
+
+    /**
+     * Read the next event from the tokener. The opening brace or bracket of an
+     * object or array is left for <code>next</code> or the JSONObject and
+     * JSONArray constructors to consume.
+     * @return The event.
+     * @throws JSONException If there is a syntax error.
+     */
+    private int advance() throws JSONException {
+        char c;
+        value = null;
+        if (top == 0) {
+            c = x.nextClean();
+            if (c == 0) {
+                return END;
+            }
+            x.back();
+            return value();
+        }
+        if (stack[top - 1] == 'o') {
+            switch (state) {
+            case 'f':
+                c = x.nextClean();
+                if (c == 0) {
+                    throw x.syntaxError("A JSONObject text must end with '}'");
+                }
+                if (c == '}') {
+                    return pop(END_OBJECT);
+                }
+                x.back();
+                return key();
+            case 'k':
+                return value();
+            default:
+                switch (x.nextClean()) {
+                case ';':
+                case ',':
+                    if (x.nextClean() == '}') {
+                        return pop(END_OBJECT);
+                    }
+                    x.back();
+                    return key();
+                case '}':
+                    return pop(END_OBJECT);
+                default:
+                    throw x.syntaxError("Expected a ',' or '}'");
+                }
+            }
+        }
+        if (state == 'f') {
+            if (x.nextClean() == ']') {
+                return pop(END_ARRAY);
+            }
+            x.back();
+            return element();
+        }
+        switch (x.nextClean()) {
+        case ';':
+        case ',':
+            if (x.nextClean() == ']') {
+                return pop(END_ARRAY);
+            }
+            x.back();
+            return element();
+        case ']':
+            return pop(END_ARRAY);
+        default:
+            throw x.syntaxError("Expected a ',' or ']'");
+        }
+    }
+
+    /**
+     * Read an array element. An elided element is null.
+     * @return The event.
+     * @throws JSONException If there is a syntax error.
+     */
+    private int element() throws JSONException {
+        if (x.nextClean() == ',') {
+            x.back();
+            value = JSONObject.NULL;
+            state = 'v';
+            return VALUE_NULL;
+        }
+        x.back();
+        return value();
+    }
+
+    /**
+     * Read a key and the ':', '=', or '=>' that follows it.
+     * @return KEY.
+     * @throws JSONException If there is a syntax error.
+     */
+    private int key() throws JSONException {
+        value = x.nextKey();
+        char c = x.nextClean();
+        if (c == '=') {
+            if (x.next() != '>') {
+                x.back();
+            }
+        } else if (c != ':') {
+            throw x.syntaxError("Expected a ':' after a key");
+        }
+        state = 'k';
+        return KEY;
+    }
+
+    /**
+     * Close the innermost container.
+     * @param event END_OBJECT or END_ARRAY.
+     * @return The event.
+     */
+    private int pop(int event) {
+        top -= 1;
+        state = 'v';
+        return event;
+    }
+
+    /**
+     * Open a container.
+     * @param c 'a' (array) or 'o' (object).
+     */
+    private void push(char c) {
+        if (top == stack.length) {
+            char[] newStack = new char[stack.length * 2];
+            System.arraycopy(stack, 0, newStack, 0, top);
+            stack = newStack;
+        }
+        stack[top] = c;
+        top += 1;
+        state = 'f';
+    }
+
+    /**
+     * Read a value. An object or array is only recognized.
+     * @return The event.
+     * @throws JSONException If there is a syntax error.
+     */
+    private int value() throws JSONException {
+        char c = x.nextClean();
+        switch (c) {
+        case '{':
+            x.back();
+            return START_OBJECT;
+        case '[':
+            x.back();
+            return START_ARRAY;
+        case '"':
+        case '\'':
+            value = x.nextString(c);
+            state = 'v';
+            return VALUE_STRING;
+        }
+        x.back();
+        value = x.nextValue();
+        state = 'v';
+        if (value instanceof Number) {
+            return VALUE_NUMBER;
+        }
+        if (value instanceof Boolean) {
+            return VALUE_BOOLEAN;
+        }
+        if (value == JSONObject.NULL) {
+            return VALUE_NULL;
+        }
+        return VALUE_STRING;
+    }
+}
@@ -0,0 +1,202 @@
+package org.json;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONStringCache is a small, bounded table of canonical String instances.
+ * A JSONTokener that is given one with <code>setKeyCache</code> looks up each
+ * quoted key of an object directly from the characters it has scanned, so a
+ * key that has been seen before costs no new String. When a million records
+ * share the same twenty keys, they then share twenty Strings. A cache given
+ * with <code>setValueCache</code> does the same for string values, usually
+ * with a small maximum length so that only short, repetitive values such as
+ * codes and states are kept.
+ * <p>
+ * The table is direct mapped: each string has one slot, chosen by its hash,
+ * and a new string replaces whatever was in its slot. It never grows beyond
+ * its size, and a burst of distinct strings only costs misses. No locks are
+ * taken, so one cache can be shared by tokeners on many threads. This is safe
+ * because Strings are immutable; a thread that reads a stale slot only misses.
+ * <p>
+ * The numbers of hits and misses can be counted, to help choose a size.
+ * Counting is off unless <code>setCounting(true)</code> is called, because
+ * the counters are shared by every thread that uses the cache.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONStringCache {
+
+    private final AtomicLong hits;
+    private final int        mask;
+    private final int        maxLength;
+    private final AtomicLong misses;
+    private final String[]   table;
+
+    /**
+     * true if hits and misses are counted.
+     */
+    private volatile boolean counting;
+
+    /**
+     * Make a JSONStringCache that holds strings of any length.
+     * @param size The number of slots, rounded up to a power of two.
+     */
+    public JSONStringCache(int size) {
+        this(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Make a JSONStringCache that holds only strings of up to
+     * <code>maxLength</code> characters. Longer strings are made fresh each
+     * time and are not counted.
+     * @param size      The number of slots, rounded up to a power of two.
+     * @param maxLength The length of the longest string to cache.
+     */
+    public JSONStringCache(int size, int maxLength) {
+        int slots = 1;
+        while (slots < size && slots < (1 << 30)) {
+            slots <<= 1;
+        }
+        this.table = new String[slots];
+        this.mask = slots - 1;
+        this.maxLength = maxLength;
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Get the number of lookups that found their string in the cache while
+     * counting was on.
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the longest string this cache holds.
+     * @return The maximum length.
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Get the number of lookups that had to make a new string while counting
+     * was on.
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the canonical String for a run of characters. If the cache holds an
+     * equal string, it is returned. Otherwise a new String is made and put in
+     * the cache.
+     * @param chars  The characters.
+     * @param start  The index of the first character.
+     * @param length The number of characters.
+     * @return A String equal to the characters.
+     */
+    public String intern(char[] chars, int start, int length) {
+        if (length > maxLength) {
+            return new String(chars, start, length);
+        }
+        int hash = 0;
+        for (int i = start; i < start + length; i += 1) {
+            hash = 31 * hash + chars[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String string = table[slot];
+        if (string != null && string.length() == length) {
+            int i = 0;
+            while (i < length && string.charAt(i) == chars[start + i]) {
+                i += 1;
+            }
+            if (i == length) {
+                if (counting) {
+                    hits.incrementAndGet();
+                }
+                return string;
+            }
+        }
+        if (counting) {
+            misses.incrementAndGet();
+        }
+        string = new String(chars, start, length);
+        table[slot] = string;
+        return string;
+    }
+
+    /**
+     * Get the canonical String for a string. If the cache holds an equal
+     * string, it is returned. Otherwise the string is put in the cache and
+     * returned.
+     * @param string A string.
+     * @return An equal String.
+     */
+    public String intern(String string) {
+        int length = string.length();
+        if (length > maxLength) {
+            return string;
+        }
+        int hash = string.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String cached = table[slot];
+        if (string.equals(cached)) {
+            if (counting) {
+                hits.incrementAndGet();
+            }
+            return cached;
+        }
+        if (counting) {
+            misses.incrementAndGet();
+        }
+        table[slot] = string;
+        return string;
+    }
+
+    /**
+     * Turn the counting of hits and misses on or off. It is off at first,
+     * so that threads sharing the cache do not contend for the counters.
+     * @param counting true to count hits and misses.
+     */
+    public void setCounting(boolean counting) {
+        this.counting = counting;
+    }
+
+    /**
+     * Make a printable summary of the cache.
+     * @return The size, hits and misses.
+     */
+    public String toString() {
+        return "JSONStringCache[size=" + table.length + ", hits=" + hits.get() +
+            ", misses=" + misses.get() + "]";
+    }
+}
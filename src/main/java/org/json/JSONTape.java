@@ -0,0 +1,938 @@
+package org.json;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+/**
+ * A JSONTape holds a parsed JSON text in two flat arrays instead of a tree
+ * of JSONObjects and JSONArrays. Every value is one entry in a
+ * <code>long[]</code> tape, in the order it appears in the text. The entry
+ * for an object or array records where it ends and how many members it has,
+ * so whole values can be stepped over without looking inside them. The
+ * characters of strings and keys are kept together in a single
+ * <code>char[]</code>, and numbers are kept on the tape itself. Strings,
+ * literals, integers of up to 18 digits and decimal fractions of up to 15
+ * significant digits are read straight from the tokener's buffer, so no
+ * Maps, Lists, Strings or boxed numbers are made for them. Only other
+ * numbers, and unquoted keys that look like numbers or literals, are
+ * converted through a String. A large document that is only read costs a
+ * few arrays instead of a great many small objects.
+ * <p>
+ * A value on the tape is named by its node, which is its index on the tape.
+ * The root is node 0. The <code>find</code> methods step from a node to a
+ * member or element, returning -1 if there is none, and the
+ * <code>opt</code> methods read a member or element much like the methods
+ * of the same names in JSONObject and JSONArray. For example, <pre>
+ * JSONTape tape = new JSONTape(document);
+ * int user = tape.find(tape.root(), "user");
+ * long id = tape.optLong(user, "id");
+ * JSONArray roles = tape.optJSONArray(user, "roles");</pre>
+ * Objects and arrays taken from the tape with <code>get</code>,
+ * <code>opt</code>, <code>optJSONObject</code> or <code>optJSONArray</code>
+ * are built as ordinary JSONObjects and JSONArrays when they are asked for.
+ * <p>
+ * Finding a member is a linear search of its object. The tape does not check
+ * for duplicate keys: <code>find</code> returns the first, and so do the
+ * JSONObjects made from the tape. A JSONTape is not changed once it is made,
+ * so it can be shared by many threads.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+public class JSONTape {
+
+    /**
+     * The tape entry types. Each is kept in the high byte of an entry.
+     * A long or double is followed by an entry holding its bits.
+     */
+    private static final int
+        ARRAY = '[',
+        DOUBLE = 'd',
+        END_ARRAY = ']',
+        END_OBJECT = '}',
+        FALSE = 'f',
+        LONG = 'l',
+        NULL = 'n',
+        OBJECT = '{',
+        STRING = '"',
+        TRUE = 't';
+
+    /**
+     * The largest member count kept in an object or array entry. Larger
+     * counts are found by walking the members.
+     */
+    private static final int MAX_COUNT = 0xFFFFFF;
+
+    /**
+     * The characters of the strings. Each string is preceded by two
+     * characters holding its length.
+     */
+    private char[] text;
+
+    /**
+     * The length of the text.
+     */
+    private int textLength;
+
+    /**
+     * The tape entries. The high byte of an entry is its type. A string
+     * entry holds the offset of the string in the text. An object or array
+     * entry holds the index of its end entry in the low 32 bits and its
+     * member count in the next 24 bits.
+     */
+    private long[] tape;
+
+    /**
+     * The length of the tape.
+     */
+    private int tapeLength;
+
+
+    /**
+     * Construct a JSONTape from the next value of a JSONTokener.
+     * @param x A JSONTokener.
+     * @throws JSONException If there is a syntax error.
+     */
+    public JSONTape(JSONTokener x) throws JSONException {
+        this(x, 512);
+    }
+
+
+    /**
+     * Construct a JSONTape from the next value of a JSONTokener, sizing the
+     * arrays for a text of about the given length so that they seldom have
+     * to grow.
+     * @param x      A JSONTokener.
+     * @param length The expected length of the text.
+     * @throws JSONException If there is a syntax error.
+     */
+    private JSONTape(JSONTokener x, int length) throws JSONException {
+        this.tape = new long[length / 4 + 16];
+        this.text = new char[length + 16];
+        value(x);
+    }
+
+
+    /**
+     * Construct a JSONTape from a source JSON text.
+     * @param source A JSON text.
+     * @throws JSONException If there is a syntax error.
+     */
+    public JSONTape(String source) throws JSONException {
+        this(new JSONTokener(source), source.length());
+    }
+
+
+    /**
+     * Append an entry to the tape.
+     * @param type    The entry type.
+     * @param payload The rest of the entry.
+     * @return The index of the entry.
+     */
+    private int append(int type, long payload) {
+        if (this.tapeLength == this.tape.length) {
+            long[] newTape = new long[this.tape.length * 2];
+            System.arraycopy(this.tape, 0, newTape, 0, this.tapeLength);
+            this.tape = newTape;
+        }
+        this.tape[this.tapeLength] = ((long)type << 56) | payload;
+        this.tapeLength += 1;
+        return this.tapeLength - 1;
+    }
+
+
+    /**
+     * Append a string to the text and its entry to the tape.
+     * @param chars  The characters.
+     * @param offset The index of the first character.
+     * @param length The number of characters.
+     */
+    private void appendString(char[] chars, int offset, int length) {
+        int minimum = this.textLength + length + 2;
+        if (minimum > this.text.length) {
+            int size = this.text.length * 2;
+            char[] newText = new char[size > minimum ? size : minimum];
+            System.arraycopy(this.text, 0, newText, 0, this.textLength);
+            this.text = newText;
+        }
+        append(STRING, this.textLength);
+        this.text[this.textLength] = (char)(length >>> 16);
+        this.text[this.textLength + 1] = (char)length;
+        System.arraycopy(chars, offset, this.text, this.textLength + 2, length);
+        this.textLength = minimum;
+    }
+
+
+    /**
+     * Parse the rest of an array, after its '['.
+     * @param x A JSONTokener.
+     * @throws JSONException If there is a syntax error.
+     */
+    private void array(JSONTokener x) throws JSONException {
+        int start = append(ARRAY, 0);
+        int count = 0;
+        if (x.nextClean() != ']') {
+            x.back();
+            for (;;) {
+                if (x.nextClean() == ',') {
+                    x.back();
+                    append(NULL, 0);
+                } else {
+                    x.back();
+                    value(x);
+                }
+                count += 1;
+                char c = x.nextClean();
+                if (c == ';' || c == ',') {
+                    if (x.nextClean() == ']') {
+                        break;
+                    }
+                    x.back();
+                } else if (c == ']') {
+                    break;
+                } else {
+                    throw x.syntaxError("Expected a ',' or ']'");
+                }
+            }
+        }
+        close(start, END_ARRAY, count);
+    }
+
+
+    /**
+     * Append the end entry of an object or array and fill in its start.
+     * @param start The index of the start entry.
+     * @param type  The type of the end entry.
+     * @param count The number of members or elements.
+     */
+    private void close(int start, int type, int count) {
+        int end = append(type, start);
+        this.tape[start] |= ((long)(count < MAX_COUNT ? count : MAX_COUNT)
+            << 32) | end;
+    }
+
+
+    /**
+     * Get the end of the value at a node: the index of the next value.
+     * @param node A node.
+     * @return The index of the entry after the value.
+     */
+    private int next(int node) {
+        switch (type(node)) {
+        case OBJECT:
+        case ARRAY:
+            return (int)this.tape[node] + 1;
+        case LONG:
+        case DOUBLE:
+            return node + 2;
+        default:
+            return node + 1;
+        }
+    }
+
+
+    /**
+     * Parse the rest of an object, after its '{'.
+     * @param x A JSONTokener.
+     * @throws JSONException If there is a syntax error.
+     */
+    private void object(JSONTokener x) throws JSONException {
+        int start = append(OBJECT, 0);
+        int count = 0;
+        for (;;) {
+            char c = x.nextClean();
+            if (c == 0) {
+                throw x.syntaxError("A JSONObject text must end with '}'");
+            } else if (c == '}') {
+                break;
+            } else if (c == '"' || c == '\'') {
+                int length = x.nextChars(c);
+                appendString(x.charBuffer(), 0, length);
+            } else {
+                text(x, c, true);
+            }
+
+// The key is followed by ':'. We will also tolerate '=' or '=>'.
+
+            c = x.nextClean();
+            if (c == '=') {
+                if (x.next() != '>') {
+                    x.back();
+                }
+            } else if (c != ':') {
+                throw x.syntaxError("Expected a ':' after a key");
+            }
+            value(x);
+            count += 1;
+
+// Pairs are separated by ','. We will also tolerate ';'.
+
+            c = x.nextClean();
+            if (c == ';' || c == ',') {
+                if (x.nextClean() == '}') {
+                    break;
+                }
+                x.back();
+            } else if (c == '}') {
+                break;
+            } else {
+                throw x.syntaxError("Expected a ',' or '}'");
+            }
+        }
+        close(start, END_OBJECT, count);
+    }
+
+
+    /**
+     * Get the string at a node.
+     * @param node A string node.
+     * @return A String.
+     */
+    private String string(int node) {
+        int offset = (int)this.tape[node];
+        return new String(this.text, offset + 2, stringLength(offset));
+    }
+
+
+    /**
+     * Get the length of a string in the text.
+     * @param offset The offset of the string in the text.
+     * @return The length.
+     */
+    private int stringLength(int offset) {
+        return (this.text[offset] << 16) | this.text[offset + 1];
+    }
+
+
+    /**
+     * Get the type of the entry at a node.
+     * @param node A node.
+     * @return The type.
+     */
+    private int type(int node) {
+        return (int)(this.tape[node] >>> 56);
+    }
+
+
+    /**
+     * Parse the next value onto the tape.
+     * @param x A JSONTokener.
+     * @throws JSONException If there is a syntax error.
+     */
+    private void value(JSONTokener x) throws JSONException {
+        char c = x.nextClean();
+        switch (c) {
+        case '"':
+        case '\'':
+            int length = x.nextChars(c);
+            appendString(x.charBuffer(), 0, length);
+            return;
+        case '{':
+            object(x);
+            return;
+        case '[':
+            array(x);
+            return;
+        }
+        text(x, c, false);
+    }
+
+
+    /**
+     * Parse an unquoted text onto the tape. The text is read into the
+     * tokener's character buffer. Plain text is copied from there into the
+     * text, literals are matched in place, and integers of up to 18 digits
+     * and short decimal fractions are scanned straight into the tape entry.
+     * Only other numbers are given to <code>JSONObject.stringToValue</code>.
+     * @param x   A JSONTokener.
+     * @param c   The first character of the text, already read.
+     * @param key true if the text is a key, which is kept as a string.
+     * @throws JSONException If the text is missing or is not a valid number.
+     */
+    private void text(JSONTokener x, char c, boolean key)
+            throws JSONException {
+        int end = x.nextText(c);
+        char[] chars = x.charBuffer();
+        int start = 0;
+        while (start < end && chars[start] == ' ') {
+            start += 1;
+        }
+        while (end > start && chars[end - 1] == ' ') {
+            end -= 1;
+        }
+        if (start == end) {
+            throw x.syntaxError("Missing value");
+        }
+        char b = chars[start];
+        if ((b >= '0' && b <= '9') || b == '-' || b == '.' || b == '+') {
+            if (!key) {
+                long integer = JSONObject.scanLong(chars, start, end);
+                if (integer != Long.MIN_VALUE) {
+                    append(LONG, 0);
+                    append(0, 0);
+                    this.tape[this.tapeLength - 1] = integer;
+                    return;
+                }
+                double number = JSONObject.scanDouble(chars, start, end);
+                if (number == number) {
+                    append(DOUBLE, 0);
+                    append(0, 0);
+                    this.tape[this.tapeLength - 1] =
+                        Double.doubleToRawLongBits(number);
+                    return;
+                }
+            }
+        } else {
+            int type = literal(chars, start, end - start);
+            if (type == 0) {
+                appendString(chars, start, end - start);
+                return;
+            }
+            if (!key) {
+                append(type, 0);
+                return;
+            }
+        }
+        Object value = JSONObject.stringToValue(chars, start, end);
+        if (key) {
+            String string = value.toString();
+            appendString(string.toCharArray(), 0, string.length());
+            return;
+        }
+        JSONObject.testValidity(value);
+        if (value instanceof Integer || value instanceof Long) {
+            append(LONG, 0);
+            append(0, 0);
+            this.tape[this.tapeLength - 1] = ((Number)value).longValue();
+        } else if (value instanceof Number) {
+            append(DOUBLE, 0);
+            append(0, 0);
+            this.tape[this.tapeLength - 1] =
+                Double.doubleToRawLongBits(((Number)value).doubleValue());
+        } else {
+            appendString(chars, start, end - start);
+        }
+    }
+
+
+    /**
+     * Match true, false or null in any case, as
+     * <code>JSONObject.stringToValue</code> does.
+     * @param chars  The characters.
+     * @param offset The index of the first character.
+     * @param length The number of characters.
+     * @return TRUE, FALSE or NULL, or 0 if the characters are none of them.
+     */
+    private static int literal(char[] chars, int offset, int length) {
+        String lower;
+        if (length == 5) {
+            lower = "false";
+        } else if (length == 4 && (chars[offset] | 0x20) == 'n') {
+            lower = "null";
+        } else if (length == 4) {
+            lower = "true";
+        } else {
+            return 0;
+        }
+        for (int i = 0; i < length; i += 1) {
+            if ((chars[offset + i] | 0x20) != lower.charAt(i)) {
+                return 0;
+            }
+        }
+        return lower.charAt(0);
+    }
+
+
+    /**
+     * Find the value of a member of an object.
+     * @param node An object node.
+     * @param key  A key string.
+     * @return The node of the value, or -1 if node is not an object or it
+     *  has no such member.
+     */
+    public int find(int node, String key) {
+        if (node < 0 || key == null || type(node) != OBJECT) {
+            return -1;
+        }
+        int end = (int)this.tape[node];
+        int length = key.length();
+        int i = node + 1;
+        while (i < end) {
+            int offset = (int)this.tape[i];
+            if (stringLength(offset) == length) {
+                offset += 2;
+                int j = 0;
+                while (j < length && this.text[offset + j] == key.charAt(j)) {
+                    j += 1;
+                }
+                if (j == length) {
+                    return i + 1;
+                }
+            }
+            i = next(i + 1);
+        }
+        return -1;
+    }
+
+
+    /**
+     * Find an element of an array.
+     * @param node  An array node.
+     * @param index The index must be between 0 and length() - 1.
+     * @return The node of the element, or -1 if node is not an array or the
+     *  index is out of range.
+     */
+    public int find(int node, int index) {
+        if (node < 0 || index < 0 || type(node) != ARRAY) {
+            return -1;
+        }
+        int end = (int)this.tape[node];
+        int i = node + 1;
+        while (i < end) {
+            if (index == 0) {
+                return i;
+            }
+            index -= 1;
+            i = next(i);
+        }
+        return -1;
+    }
+
+
+    /**
+     * Get the value at a node. Objects and arrays are made into
+     * JSONObjects and JSONArrays.
+     * @param node A node.
+     * @return The value: a JSONObject, JSONArray, String, Boolean, Integer,
+     *  Long, Double or JSONObject.NULL, or null if node is -1.
+     */
+    public Object get(int node) {
+        if (node < 0) {
+            return null;
+        }
+        int end;
+        int i;
+        switch (type(node)) {
+        case OBJECT:
+            JSONObject jo = new JSONObject();
+            end = (int)this.tape[node];
+            i = node + 1;
+            try {
+                while (i < end) {
+                    String key = string(i);
+                    if (jo.opt(key) == null) {
+                        jo.put(key, get(i + 1));
+                    }
+                    i = next(i + 1);
+                }
+            } catch (JSONException e) {
+                throw new RuntimeException(e);
+            }
+            return jo;
+        case ARRAY:
+            JSONArray ja = new JSONArray();
+            end = (int)this.tape[node];
+            i = node + 1;
+            while (i < end) {
+                ja.put(get(i));
+                i = next(i);
+            }
+            return ja;
+        case STRING:
+            return string(node);
+        case LONG:
+            long l = this.tape[node + 1];
+            return l == (int)l ? (Object)Integer.valueOf((int)l) : Long.valueOf(l);
+        case DOUBLE:
+            return Double.valueOf(Double.longBitsToDouble(this.tape[node + 1]));
+        case TRUE:
+            return Boolean.TRUE;
+        case FALSE:
+            return Boolean.FALSE;
+        default:
+            return JSONObject.NULL;
+        }
+    }
+
+
+    /**
+     * Determine if the value at a node is an array.
+     * @param node A node.
+     * @return true if it is an array.
+     */
+    public boolean isArray(int node) {
+        return node >= 0 && type(node) == ARRAY;
+    }
+
+
+    /**
+     * Determine if the value at a node is null. A node of -1, which is what
+     * <code>find</code> returns when there is no value, is also null.
+     * @param node A node.
+     * @return true if there is no value or it is JSONObject.NULL.
+     */
+    public boolean isNull(int node) {
+        return node < 0 || type(node) == NULL;
+    }
+
+
+    /**
+     * Determine if the value at a node is an object.
+     * @param node A node.
+     * @return true if it is an object.
+     */
+    public boolean isObject(int node) {
+        return node >= 0 && type(node) == OBJECT;
+    }
+
+
+    /**
+     * Get the number of members of an object or elements of an array.
+     * @param node A node.
+     * @return The length, or 0 if the node is not an object or array.
+     */
+    public int length(int node) {
+        if (node < 0) {
+            return 0;
+        }
+        int type = type(node);
+        if (type != OBJECT && type != ARRAY) {
+            return 0;
+        }
+        int count = (int)(this.tape[node] >>> 32) & MAX_COUNT;
+        if (count == MAX_COUNT) {
+            int end = (int)this.tape[node];
+            count = 0;
+            for (int i = node + 1; i < end; i = next(i)) {
+                count += 1;
+            }
+            if (type == OBJECT) {
+                count /= 2;
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * Get an optional value associated with a key.
+     * @param node An object node.
+     * @param key  A key string.
+     * @return An object which is the value, or null if there is no value.
+     */
+    public Object opt(int node, String key) {
+        return get(find(node, key));
+    }
+
+
+    /**
+     * Get an optional value of an array.
+     * @param node  An array node.
+     * @param index The index must be between 0 and length() - 1.
+     * @return An object value, or null if there is no object at that index.
+     */
+    public Object opt(int node, int index) {
+        return get(find(node, index));
+    }
+
+
+    /**
+     * Get an optional boolean associated with a key.
+     * It returns false if there is no such key, or if the value is not
+     * Boolean.TRUE or the String "true".
+     * @param node An object node.
+     * @param key  A key string.
+     * @return The truth.
+     */
+    public boolean optBoolean(int node, String key) {
+        return toBoolean(find(node, key));
+    }
+
+
+    /**
+     * Get an optional boolean value of an array.
+     * It returns false if there is no value at that index,
+     * or if the value is not Boolean.TRUE or the String "true".
+     * @param node  An array node.
+     * @param index The index must be between 0 and length() - 1.
+     * @return The truth.
+     */
+    public boolean optBoolean(int node, int index) {
+        return toBoolean(find(node, index));
+    }
+
+
+    /**
+     * Get an optional double associated with a key,
+     * or NaN if there is no such key or if its value is not a number.
+     * If the value is a string, an attempt will be made to evaluate it as
+     * a number.
+     * @param node An object node.
+     * @param key  A key string.
+     * @return The value.
+     */
+    public double optDouble(int node, String key) {
+        return toDouble(find(node, key));
+    }
+
+
+    /**
+     * Get an optional double value of an array,
+     * or NaN if there is no value at that index or if it is not a number.
+     * @param node  An array node.
+     * @param index The index must be between 0 and length() - 1.
+     * @return The value.
+     */
+    public double optDouble(int node, int index) {
+        return toDouble(find(node, index));
+    }
+
+
+    /**
+     * Get an optional int value associated with a key,
+     * or zero if there is no such key or if the value is not a number.
+     * If the value is a string, an attempt will be made to evaluate it as
+     * a number.
+     * @param node An object node.
+     * @param key  A key string.
+     * @return The value.
+     */
+    public int optInt(int node, String key) {
+        return (int)toLong(find(node, key), true);
+    }
+
+
+    /**
+     * Get an optional int value of an array,
+     * or zero if there is no value at that index or if it is not a number.
+     * @param node  An array node.
+     * @param index The index must be between 0 and length() - 1.
+     * @return The value.
+     */
+    public int optInt(int node, int index) {
+        return (int)toLong(find(node, index), true);
+    }
+
+
+    /**
+     * Get an optional JSONArray associated with a key. It returns null if
+     * there is no such key, or if its value is not an array.
+     * @param node An object node.
+     * @param key  A key string.
+     * @return A JSONArray made from the value.
+     */
+    public JSONArray optJSONArray(int node, String key) {
+        int value = find(node, key);
+        return isArray(value) ? (JSONArray)get(value) : null;
+    }
+
+
+    /**
+     * Get an optional JSONArray value of an array. It returns null if there
+     * is no value at that index, or if it is not an array.
+     * @param node  An array node.
+     * @param index The index must be between 0 and length() - 1.
+     * @return A JSONArray made from the value.
+     */
+    public JSONArray optJSONArray(int node, int index) {
+        int value = find(node, index);
+        return isArray(value) ? (JSONArray)get(value) : null;
+    }
+
+
+    /**
+     * Get an optional JSONObject associated with a key. It returns null if
+     * there is no such key, or if its value is not an object.
+     * @param node An object node.
+     * @param key  A key string.
+     * @return A JSONObject made from the value.
+     */
+    public JSONObject optJSONObject(int node, String key) {
+        int value = find(node, key);
+        return isObject(value) ? (JSONObject)get(value) : null;
+    }
+
+
+    /**
+     * Get an optional JSONObject value of an array. It returns null if there
+     * is no value at that index, or if it is not an object.
+     * @param node  An array node.
+     * @param index The index must be between 0 and length() - 1.
+     * @return A JSONObject made from the value.
+     */
+    public JSONObject optJSONObject(int node, int index) {
+        int value = find(node, index);
+        return isObject(value) ? (JSONObject)get(value) : null;
+    }
+
+
+    /**
+     * Get an optional long value associated with a key,
+     * or zero if there is no such key or if the value is not a number.
+     * If the value is a string, an attempt will be made to evaluate it as
+     * a number.
+     * @param node An object node.
+     * @param key  A key string.
+     * @return The value.
+     */
+    public long optLong(int node, String key) {
+        return toLong(find(node, key), false);
+    }
+
+
+    /**
+     * Get an optional long value of an array,
+     * or zero if there is no value at that index or if it is not a number.
+     * @param node  An array node.
+     * @param index The index must be between 0 and length() - 1.
+     * @return The value.
+     */
+    public long optLong(int node, int index) {
+        return toLong(find(node, index), false);
+    }
+
+
+    /**
+     * Get an optional string associated with a key.
+     * It returns an empty string if there is no such key. If the value is not
+     * a string and is not null, then it is converted to a string.
+     * @param node An object node.
+     * @param key  A key string.
+     * @return A string which is the value.
+     */
+    public String optString(int node, String key) {
+        return toString(find(node, key));
+    }
+
+
+    /**
+     * Get the optional string value of an array. It returns an empty
+     * string if there is no value at that index. If the value is not a
+     * string and is not null, then it is converted to a string.
+     * @param node  An array node.
+     * @param index The index must be between 0 and length() - 1.
+     * @return A String value.
+     */
+    public String optString(int node, int index) {
+        return toString(find(node, index));
+    }
+
+
+    /**
+     * Get the root node, which is the value the tape was made from.
+     * @return 0.
+     */
+    public int root() {
+        return 0;
+    }
+
+
+    private boolean toBoolean(int node) {
+        if (node < 0) {
+            return false;
+        }
+        switch (type(node)) {
+        case TRUE:
+            return true;
+        case STRING:
+            return string(node).equalsIgnoreCase("true");
+        default:
+            return false;
+        }
+    }
+
+
+    private double toDouble(int node) {
+        if (node < 0) {
+            return Double.NaN;
+        }
+        switch (type(node)) {
+        case LONG:
+            return this.tape[node + 1];
+        case DOUBLE:
+            return Double.longBitsToDouble(this.tape[node + 1]);
+        case STRING:
+            try {
+                return Double.parseDouble(string(node));
+            } catch (Exception e) {
+                return Double.NaN;
+            }
+        default:
+            return Double.NaN;
+        }
+    }
+
+
+    private long toLong(int node, boolean isInt) {
+        if (node < 0) {
+            return 0;
+        }
+        switch (type(node)) {
+        case LONG:
+            return this.tape[node + 1];
+        case DOUBLE:
+            double d = Double.longBitsToDouble(this.tape[node + 1]);
+            return isInt ? (long)(int)d : (long)d;
+        case STRING:
+            try {
+                return isInt
+                    ? Integer.parseInt(string(node))
+                    : Long.parseLong(string(node));
+            } catch (Exception e) {
+                return 0;
+            }
+        default:
+            return 0;
+        }
+    }
+
+
+    private String toString(int node) {
+        if (node < 0) {
+            return "";
+        }
+        switch (type(node)) {
+        case NULL:
+            return "";
+        case STRING:
+            return string(node);
+        default:
+            return get(node).toString();
+        }
+    }
+
+
+    /**
+     * Make a JSON text of the value on the tape.
+     * @return a printable, displayable, transmittable
+     *  representation of the value.
+     */
+    public String toString() {
+        try {
+            return JSONObject.valueToString(get(0));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
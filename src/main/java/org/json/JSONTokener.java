@@ -5,7 +5,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.StringReader;
 
 /*
 Copyright (c) 2002 JSON.org
@@ -40,13 +39,92 @@ SOFTWARE.
  */
 public class JSONTokener {
 
-    private long    character;
-    private boolean eof;
-    private long    index;
-    private long    line;
-    private char    previous;
+    /**
+     * The state of skipValue is kept in an int. The low bits tell whether a
+     * string in double or single quotes is open, whether a backslash has just
+     * been seen in it, and whether an unquoted text is being passed. The
+     * number of open brackets and braces is kept above them, in units of
+     * SKIP_DEPTH. The state is zero when the value has ended.
+     */
+    static final int SKIP_DOUBLE = 1;
+    static final int SKIP_SINGLE = 2;
+    static final int SKIP_ESCAPE = 4;
+    static final int SKIP_TEXT = 8;
+    static final int SKIP_DEPTH = 16;
+
+    /**
+     * The position and lookback state. They are shared with JSONByteTokener,
+     * which reads its own source but reports positions the same way.
+     */
+    long            character;
+    boolean         eof;
+    long            index;
+    long            line;
+    char            previous;
+    boolean         usePrevious;
+
     private Reader  reader;
-    private boolean usePrevious;
+
+    /**
+     * The character window used by the buffered scanning mode, or null if
+     * characters are pulled from the reader one at a time.
+     */
+    private char[]  buffer;
+    private int     bufferIndex;
+    private int     bufferLength;
+
+    /**
+     * The position in the window that must be retained when it is refilled,
+     * or -1 if nothing needs to be retained.
+     */
+    private int     bufferMark;
+
+    /**
+     * The characters of the string or unquoted text being scanned by
+     * nextString or nextValue, allocated on first use and reused after that.
+     */
+    char[]          chars;
+
+    /**
+     * true if nextValue makes JSONNumbers instead of converting numbers.
+     */
+    boolean lazyNumbers;
+
+    /**
+     * true if objects and arrays nested in a JSONObject or JSONArray are
+     * kept as ranges of the source until they are used.
+     */
+    private boolean lazyValues;
+
+    /**
+     * The cache of canonical keys, or null.
+     */
+    private JSONStringCache keyCache;
+
+    /**
+     * The most recent object maps, by the hash of their keys, or null.
+     */
+    private JSONCompactMap[] shapes;
+
+    /**
+     * The cache of canonical string values, or null.
+     */
+    private JSONStringCache valueCache;
+
+    /**
+     * Construct a JSONTokener for a subclass that supplies its own source by
+     * overriding the methods that consume characters.
+     */
+    JSONTokener() {
+        reader = null;
+        bufferMark = -1;
+        eof = false;
+        usePrevious = false;
+        previous = 0;
+        index = 0;
+        character = 1;
+        line = 1;
+    }
 
     /**
      * Construct a JSONTokener from a Reader.
@@ -63,6 +141,32 @@ public class JSONTokener {
         index = 0;
         character = 1;
         line = 1;
+        bufferMark = -1;
+    }
+
+
+    /**
+     * Construct a buffered JSONTokener from a Reader. Instead of calling
+     * <code>reader.read()</code> for every character, the tokener pulls blocks
+     * of up to <code>bufferSize</code> characters into a window and scans
+     * them directly. The window grows as needed when <code>skipTo</code> has
+     * to look further ahead than its size.
+     *
+     * @param reader     A reader.
+     * @param bufferSize The initial size of the character window.
+     */
+    public JSONTokener(Reader reader, int bufferSize) {
+        this.reader = reader;
+        buffer = new char[bufferSize > 0 ? bufferSize : 1];
+        bufferIndex = 0;
+        bufferLength = 0;
+        bufferMark = -1;
+        eof = false;
+        usePrevious = false;
+        previous = 0;
+        index = 0;
+        character = 1;
+        line = 1;
     }
 
 
@@ -79,7 +183,43 @@ public class JSONTokener {
      * @param s     A source string.
      */
     public JSONTokener(String s) {
-        this(new StringReader(s));
+        reader = null;
+        buffer = s.toCharArray();
+        bufferIndex = 0;
+        bufferLength = buffer.length;
+        bufferMark = -1;
+        eof = false;
+        usePrevious = false;
+        previous = 0;
+        index = 0;
+        character = 1;
+        line = 1;
+    }
+
+    /**
+     * Construct a JSONTokener that reads a range of a character array that
+     * is shared, not copied. Positions in its errors are given as if it had
+     * read the array from the start.
+     * @param buffer    The source characters.
+     * @param start     The index of the first character to read.
+     * @param end       The index after the last character to read.
+     * @param index     The number of characters before start.
+     * @param character The position of start in its line.
+     * @param line      The line of start.
+     */
+    JSONTokener(char[] buffer, int start, int end, long index,
+            long character, long line) {
+        reader = null;
+        this.buffer = buffer;
+        bufferIndex = start;
+        bufferLength = end;
+        bufferMark = -1;
+        eof = false;
+        usePrevious = false;
+        previous = 0;
+        this.index = index;
+        this.character = character;
+        this.line = line;
     }
 
     /**
@@ -144,6 +284,15 @@ public class JSONTokener {
         if (usePrevious) {
             usePrevious = false;
             c = previous;
+        } else if (buffer != null) {
+            if (bufferIndex < bufferLength || fill()) {
+                c = buffer[bufferIndex++];
+            } else {
+                c = 0;
+            }
+            if (c == 0) {
+                eof = true;
+            }
         } else {
             try {
                 c = reader.read();
@@ -212,12 +361,61 @@ public class JSONTokener {
          return new String(chars);
      }
 
+    /**
+     * Read the four hex digits of a <code>&#92;u</code> escape.
+     * @return The character.
+     * @throws JSONException If a digit is missing or invalid.
+     */
+    char nextHex() throws JSONException {
+        int value = 0;
+        for (int i = 0; i < 4; i += 1) {
+            char c = next();
+            if (end()) {
+                throw syntaxError("Substring bounds error");
+            }
+            int digit = dehexchar(c);
+            if (digit < 0) {
+                throw syntaxError("Illegal escape.");
+            }
+            value = (value << 4) | digit;
+        }
+        return (char)value;
+    }
+
     /**
      * Get the next char in the string, skipping whitespace.
      * @throws JSONException
      * @return  A character, or 0 if there are no more characters.
      */
     public char nextClean() throws JSONException {
+        if (buffer != null && !usePrevious) {
+            for (;;) {
+                while (bufferIndex < bufferLength) {
+                    char c = buffer[bufferIndex++];
+                    index += 1;
+                    if (previous == '\r') {
+                        line += 1;
+                        character = c == '\n' ? 0 : 1;
+                    } else if (c == '\n') {
+                        line += 1;
+                        character = 0;
+                    } else {
+                        character += 1;
+                    }
+                    previous = c;
+                    if (c > ' ') {
+                        return c;
+                    }
+                    if (c == 0) {
+                        eof = true;
+                        return c;
+                    }
+                }
+                if (!fill()) {
+                    return next();
+                }
+            }
+        }
         for (;;) {
             char c = next();
             if (c == 0 || c > ' ') {
@@ -226,11 +424,33 @@ public class JSONTokener {
         }
     }
 
+    /**
+     * Get the next key of an object. A quoted key is taken from the key cache
+     * if there is one. Any other key is the string form of the next value,
+     * with numbers always converted.
+     * @return A key.
+     * @throws JSONException If there is a syntax error.
+     */
+    public String nextKey() throws JSONException {
+        char c = nextClean();
+        if (c == '"' || c == '\'') {
+            return nextString(c, keyCache);
+        }
+        back();
+        boolean lazy = lazyNumbers;
+        lazyNumbers = false;
+        try {
+            return nextValue().toString();
+        } finally {
+            lazyNumbers = lazy;
+        }
+    }
+
     /**
      * Return the characters up to the next close quote character.
      * Backslash processing is done. The formal JSON format does not
      * allow strings in single quotes, but an implementation is allowed to
-     * accept them.
+     * accept them. If there is a value cache, the result is taken from it.
      * @param quote The quoting character, either
      *      <code>"</code>&nbsp;<small>(double quote)</small> or
      *      <code>'</code>&nbsp;<small>(single quote)</small>.
@@ -238,9 +458,79 @@ public class JSONTokener {
      * @throws JSONException Unterminated string.
      */
     public String nextString(char quote) throws JSONException {
+        return nextString(quote, valueCache);
+    }
+
+    /**
+     * Return the characters up to the next close quote character, taking the
+     * result from a JSONStringCache if one is given.
+     * @param quote The quoting character, either
+     *      <code>"</code>&nbsp;<small>(double quote)</small> or
+     *      <code>'</code>&nbsp;<small>(single quote)</small>.
+     * @param cache A JSONStringCache, or null.
+     * @return      A String.
+     * @throws JSONException Unterminated string.
+     */
+    String nextString(char quote, JSONStringCache cache) throws JSONException {
+        if (buffer != null && !usePrevious) {
+            int start = bufferIndex;
+            int end = start;
+            while (end < bufferLength) {
+                char c = buffer[end];
+                if (c == quote || c == '\\' || c < ' ') {
+                    break;
+                }
+                end += 1;
+            }
+            if (end < bufferLength && buffer[end] == quote) {
+                String string = end == start
+                    ? ""
+                    : cache == null
+                    ? new String(buffer, start, end - start)
+                    : cache.intern(buffer, start, end - start);
+                consume(end + 1);
+                return string;
+            }
+        }
+        int length = nextChars(quote);
+        return cache == null
+            ? new String(chars, 0, length)
+            : cache.intern(chars, 0, length);
+    }
+
+    /**
+     * Read the characters up to the next close quote character into the
+     * array returned by <code>charBuffer</code>. Backslash processing is done.
+     * @param quote The quoting character.
+     * @return      The number of characters read.
+     * @throws JSONException Unterminated string.
+     */
+    int nextChars(char quote) throws JSONException {
         char c;
-        StringBuffer sb = new StringBuffer();
+        int length = 0;
+        if (chars == null) {
+            chars = new char[64];
+        }
         for (;;) {
+            if (buffer != null && !usePrevious) {
+                int start = bufferIndex;
+                int end = start;
+                while (end < bufferLength) {
+                    c = buffer[end];
+                    if (c == quote || c == '\\' || c < ' ') {
+                        break;
+                    }
+                    end += 1;
+                }
+                if (end > start) {
+                    if (length + end - start > chars.length) {
+                        grow(length + end - start);
+                    }
+                    System.arraycopy(buffer, start, chars, length, end - start);
+                    length += end - start;
+                    consume(end);
+                }
+            }
             c = next();
             switch (c) {
             case 0:
@@ -251,28 +541,27 @@ public class JSONTokener {
                 c = next();
                 switch (c) {
                 case 'b':
-                    sb.append('\b');
+                    c = '\b';
                     break;
                 case 't':
-                    sb.append('\t');
+                    c = '\t';
                     break;
                 case 'n':
-                    sb.append('\n');
+                    c = '\n';
                     break;
                 case 'f':
-                    sb.append('\f');
+                    c = '\f';
                     break;
                 case 'r':
-                    sb.append('\r');
+                    c = '\r';
                     break;
                 case 'u':
-                    sb.append((char)Integer.parseInt(next(4), 16));
+                    c = nextHex();
                     break;
                 case '"':
                 case '\'':
                 case '\\':
                 case '/':
-                    sb.append(c);
                     break;
                 default:
                     throw syntaxError("Illegal escape.");
@@ -280,13 +569,26 @@ public class JSONTokener {
                 break;
             default:
                 if (c == quote) {
-                    return sb.toString();
+                    return length;
                 }
-                sb.append(c);
             }
+            if (length == chars.length) {
+                grow(length + 1);
+            }
+            chars[length] = c;
+            length += 1;
         }
     }
 
+    /**
+     * Get the array that <code>nextChars</code> reads into. It is reused,
+     * so its contents are only good until the next read.
+     * @return The character array.
+     */
+    char[] charBuffer() {
+        return chars;
+    }
+
     /**
      * Get the text up but not including the specified character or the
      * end of line, whichever comes first.
@@ -328,16 +630,101 @@ public class JSONTokener {
         }
     }
 
+    /**
+     * Let the map of an object that has just been parsed share its keys
+     * with an earlier object that had the same keys in the same order.
+     * @param map The map of the object.
+     */
+    void shareKeys(JSONCompactMap map) {
+        if (shapes == null) {
+            shapes = new JSONCompactMap[64];
+        }
+        map.shareKeys(shapes);
+    }
+
+    /**
+     * Get the next value of a JSONObject or JSONArray. If lazy values are on
+     * and the value is an object or array, it is skipped and kept as a range
+     * of the source, to be parsed when it is first used.
+     * @return An object.
+     * @throws JSONException If there is a syntax error.
+     */
+    Object nextNestedValue() throws JSONException {
+        if (lazyValues && reader == null && buffer != null) {
+            char c = nextClean();
+            if (c == '{' || c == '[') {
+                int start = bufferIndex - 1;
+                long startIndex = index - 1;
+                long startCharacter = character - 1;
+                long startLine = line;
+                skipRest(SKIP_DEPTH);
+                JSONTokener x = new JSONTokener(buffer, start, bufferIndex,
+                    startIndex, startCharacter, startLine);
+                x.lazyNumbers = lazyNumbers;
+                x.lazyValues = true;
+                x.keyCache = keyCache;
+                x.valueCache = valueCache;
+                return new JSONLazyValue(x, buffer, start, bufferIndex);
+            }
+            back();
+        }
+        return nextValue();
+    }
+
+    /**
+     * Read an unquoted text into the character buffer, up to the end of the
+     * text or a formatting character, which is left unread.
+     * @param c The first character of the text, already read.
+     * @return The number of characters in the buffer.
+     * @throws JSONException If the source cannot be read.
+     */
+    int nextText(char c) throws JSONException {
+        if (chars == null) {
+            chars = new char[64];
+        }
+        int length = 0;
+        while (c >= ' ' && !isDelimiter(c)) {
+            if (length == chars.length) {
+                grow(length + 1);
+            }
+            chars[length] = c;
+            length += 1;
+            if (buffer != null && !usePrevious) {
+                int start = bufferIndex;
+                int end = start;
+                while (end < bufferLength) {
+                    c = buffer[end];
+                    if (c < ' ' || isDelimiter(c)) {
+                        break;
+                    }
+                    end += 1;
+                }
+                if (end > start) {
+                    if (length + end - start > chars.length) {
+                        grow(length + end - start);
+                    }
+                    System.arraycopy(buffer, start, chars, length, end - start);
+                    length += end - start;
+                    consume(end);
+                }
+            }
+            c = next();
+        }
+        back();
+        return length;
+    }
+
     /**
      * Get the next value. The value can be a Boolean, Double, Integer,
      * JSONArray, JSONObject, Long, or String, or the JSONObject.NULL object.
+     * If lazy numbers are on, a number can also be a JSONNumber.
      * @throws JSONException If syntax error.
      *
      * @return An object.
      */
     public Object nextValue() throws JSONException {
         char c = nextClean();
-        String string;
+        Object value;
 
         switch (c) {
             case '"':
@@ -355,25 +742,67 @@ public class JSONTokener {
          * Handle unquoted text. This could be the values true, false, or
          * null, or it can be a number. An implementation (such as this one)
          * is allowed to also accept non-standard forms.
-         *
-         * Accumulate characters until we reach the end of the text or a
-         * formatting character.
          */
 
-        StringBuffer sb = new StringBuffer();
-        while (c >= ' ' && ",:]}/\\\"[{;=#".indexOf(c) < 0) {
-            sb.append(c);
-            c = next();
-        }
-        back();
-
-        string = sb.toString().trim();
-        if ("".equals(string)) {
+        int length = nextText(c);
+        value = lazyNumbers
+            ? JSONNumber.stringToValue(chars, 0, length)
+            : JSONObject.stringToValue(chars, 0, length);
+        if ("".equals(value)) {
             throw syntaxError("Missing value");
         }
-        return JSONObject.stringToValue(string);
+        return value;
+    }
+
+
+    /**
+     * Give the tokener a JSONStringCache from which nextKey takes its quoted
+     * keys. The cache can be shared with other tokeners.
+     * @param keyCache A JSONStringCache, or null for none.
+     */
+    public void setKeyCache(JSONStringCache keyCache) {
+        this.keyCache = keyCache;
     }
 
+    /**
+     * Choose whether the objects and arrays nested in a JSONObject or
+     * JSONArray are parsed when they are first used instead of right away.
+     * A lazy value is only checked to be closed, and is kept as a range of
+     * the source. It is parsed, with the same settings as this tokener, when
+     * <code>get</code>, <code>opt</code> or one of their variants first
+     * reaches it, and its syntax errors are only reported then. A lazy value
+     * that is written before it is used is copied from the source as it is,
+     * whitespace and all, if it is strict JSON. This only applies to a
+     * tokener made from a String; others ignore it. Lazy values are off by
+     * default.
+     * @param lazyValues true to defer nested objects and arrays.
+     */
+    public void setLazyValues(boolean lazyValues) {
+        this.lazyValues = lazyValues;
+    }
+
+    /**
+     * Choose whether nextValue makes a JSONNumber for each number, keeping
+     * its text and converting it only when its value is first used, instead
+     * of an Integer, Long or Double. Lazy numbers are off by default.
+     * @param lazyNumbers true to make JSONNumbers.
+     */
+    public void setLazyNumbers(boolean lazyNumbers) {
+        this.lazyNumbers = lazyNumbers;
+    }
+
+    /**
+     * Give the tokener a JSONStringCache from which nextString takes its
+     * strings, so that repeated short values such as codes and states share
+     * one instance. The cache's maximum length is the threshold: longer
+     * strings are always made fresh. Its size caps the number of strings it
+     * keeps. The cache can be shared with other tokeners, but it should not
+     * be the key cache, or keys and values will evict each other.
+     * @param valueCache A JSONStringCache, or null for none.
+     */
+    public void setValueCache(JSONStringCache valueCache) {
+        this.valueCache = valueCache;
+    }
 
     /**
      * Skip characters until the next character is the requested character.
@@ -384,6 +813,32 @@ public class JSONTokener {
      */
     public char skipTo(char to) throws JSONException {
         char c;
+        if (buffer != null) {
+            long startIndex = index;
+            long startCharacter = character;
+            long startLine = line;
+            char startPrevious = previous;
+            boolean startUsePrevious = usePrevious;
+            boolean startEof = eof;
+            bufferMark = bufferIndex;
+            do {
+                c = next();
+                if (c == 0) {
+                    bufferIndex = bufferMark;
+                    bufferMark = -1;
+                    index = startIndex;
+                    character = startCharacter;
+                    line = startLine;
+                    previous = startPrevious;
+                    usePrevious = startUsePrevious;
+                    eof = startEof;
+                    return c;
+                }
+            } while (c != to);
+            bufferMark = -1;
+            back();
+            return c;
+        }
         try {
             long startIndex = index;
             long startCharacter = character;
@@ -407,6 +862,268 @@ public class JSONTokener {
         return c;
     }
 
+    /**
+     * Skip the next value without building it. Brackets and braces are
+     * matched and quoted strings are passed over, but the text inside them
+     * is not otherwise checked, and no Strings or other objects are made. In
+     * the buffered and String modes the window is scanned directly. This is
+     * a cheap way to ignore unknown members or to filter a stream.
+     * @throws JSONException If the value is missing or not terminated.
+     */
+    public void skipValue() throws JSONException {
+        char c = nextClean();
+        int state;
+        switch (c) {
+        case '"':
+            state = SKIP_DOUBLE;
+            break;
+        case '\'':
+            state = SKIP_SINGLE;
+            break;
+        case '{':
+        case '[':
+            state = SKIP_DEPTH;
+            break;
+        default:
+            int length = 0;
+            while (c >= ' ' && !isDelimiter(c)) {
+                if (c != ' ') {
+                    length += 1;
+                }
+                c = next();
+            }
+            back();
+            if (length == 0) {
+                throw syntaxError("Missing value");
+            }
+            return;
+        }
+        skipRest(state);
+    }
+
+    /**
+     * Skip the rest of a string, object or array whose first character has
+     * been consumed.
+     * @param state The state of skipValue after the first character.
+     * @throws JSONException If the value is not terminated.
+     */
+    void skipRest(int state) throws JSONException {
+        for (;;) {
+            if (buffer != null && !usePrevious) {
+                int i = bufferIndex;
+                while (i < bufferLength) {
+                    char c = buffer[i];
+                    if (c < ' ') {
+                        break;
+                    }
+                    i += 1;
+                    state = skip(state, c);
+                    if (state == 0) {
+                        consume(i);
+                        return;
+                    }
+                }
+                if (i > bufferIndex) {
+                    consume(i);
+                }
+            }
+            char c = next();
+            checkSkip(state, c);
+            state = skip(state, c);
+            if (state == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skip characters until the next character is the requested character,
+     * or until the end. Unlike <code>skipTo</code>, the characters are
+     * consumed even if the requested character is not found, so no mark is
+     * needed and there is no limit on how far it can look.
+     * @param to A character to skip to.
+     * @return The requested character, or zero if the end was reached.
+     * @throws JSONException If the source cannot be read.
+     */
+    public char skipUntil(char to) throws JSONException {
+        for (;;) {
+            if (buffer != null && !usePrevious) {
+                int i = bufferIndex;
+                while (i < bufferLength) {
+                    char c = buffer[i];
+                    if (c == to || c < ' ') {
+                        break;
+                    }
+                    i += 1;
+                }
+                if (i > bufferIndex) {
+                    consume(i);
+                }
+            }
+            char c = next();
+            if (c == to) {
+                back();
+                return c;
+            }
+            if (c == 0) {
+                return c;
+            }
+        }
+    }
+
+    /**
+     * Throw the error for a character that cannot appear in a value being
+     * skipped: the end of the text, or a line break in a string.
+     * @param state The state of skipValue.
+     * @param c     The character.
+     * @throws JSONException If the character ends the text too soon.
+     */
+    void checkSkip(int state, char c) throws JSONException {
+        boolean string = (state & (SKIP_DOUBLE | SKIP_SINGLE)) != 0;
+        if (c == 0) {
+            throw syntaxError(string ? "Unterminated string" : "Unterminated value");
+        }
+        if (string && (c == '\n' || c == '\r')) {
+            throw syntaxError("Unterminated string");
+        }
+    }
+
+    /**
+     * Advance the state of skipValue over one character.
+     * @param state The state.
+     * @param c     The character.
+     * @return The new state, zero if the value has ended.
+     */
+    static int skip(int state, char c) {
+        if ((state & (SKIP_DOUBLE | SKIP_SINGLE)) != 0) {
+            if ((state & SKIP_ESCAPE) != 0) {
+                return state & ~SKIP_ESCAPE;
+            }
+            if (c == '\\') {
+                return state | SKIP_ESCAPE;
+            }
+            if (c == ((state & SKIP_DOUBLE) != 0 ? '"' : '\'')) {
+                return state & ~(SKIP_DOUBLE | SKIP_SINGLE);
+            }
+            return state;
+        }
+        if (c < ' ' || isDelimiter(c)) {
+            state &= ~SKIP_TEXT;
+            switch (c) {
+            case '"':
+                return state | SKIP_DOUBLE;
+            case '{':
+            case '[':
+                return state + SKIP_DEPTH;
+            case '}':
+            case ']':
+                return state - SKIP_DEPTH;
+            }
+            return state;
+        }
+        if (c == '\'' && (state & SKIP_TEXT) == 0) {
+            return state | SKIP_SINGLE;
+        }
+        if (c != ' ') {
+            return state | SKIP_TEXT;
+        }
+        return state;
+    }
+
+    /**
+     * Consume the buffered characters up to <code>end</code>, updating the
+     * position as <code>next()</code> would. The characters must not include
+     * line terminators.
+     * @param end The window position after the last character consumed.
+     */
+    private void consume(int end) {
+        int length = end - bufferIndex;
+        if (previous == '\r') {
+            line += 1;
+            character = length;
+        } else {
+            character += length;
+        }
+        index += length;
+        previous = buffer[end - 1];
+        bufferIndex = end;
+    }
+
+    /**
+     * Refill the window from the reader. Characters before the mark (or all
+     * of them if there is no mark) are discarded. The window is enlarged if
+     * the marked characters fill it.
+     * @return true if at least one more character is available.
+     * @throws JSONException If the reader fails.
+     */
+    private boolean fill() throws JSONException {
+        if (reader == null) {
+            return false;
+        }
+        int keep = bufferMark >= 0 ? bufferMark : bufferLength;
+        int retained = bufferLength - keep;
+        if (retained == buffer.length) {
+            char[] newBuffer = new char[buffer.length * 2];
+            System.arraycopy(buffer, keep, newBuffer, 0, retained);
+            buffer = newBuffer;
+        } else if (keep > 0) {
+            System.arraycopy(buffer, keep, buffer, 0, retained);
+        }
+        if (bufferMark >= 0) {
+            bufferMark = 0;
+        }
+        bufferIndex = retained;
+        bufferLength = retained;
+        int n;
+        try {
+            do {
+                n = reader.read(buffer, bufferLength, buffer.length - bufferLength);
+            } while (n == 0);
+        } catch (IOException exception) {
+            throw new JSONException(exception);
+        }
+        if (n < 0) {
+            return false;
+        }
+        bufferLength += n;
+        return true;
+    }
+
+    /**
+     * Enlarge the array that holds an unquoted text.
+     * @param minimum The least size needed.
+     */
+    void grow(int minimum) {
+        int size = chars.length * 2;
+        char[] newChars = new char[size > minimum ? size : minimum];
+        System.arraycopy(chars, 0, newChars, 0, chars.length);
+        chars = newChars;
+    }
+
+    /**
+     * Determine if a character ends an unquoted text.
+     * @param c A character.
+     * @return true if c is one of <code>, : ] } / \ " [ { ; = #</code>.
+     */
+    static boolean isDelimiter(char c) {
+        switch (c) {
+        case ',':
+        case ':':
+        case ']':
+        case '}':
+        case '/':
+        case '\\':
+        case '"':
+        case '[':
+        case '{':
+        case ';':
+        case '=':
+        case '#':
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Make a JSONException to signal a syntax error.
      *
@@ -0,0 +1,560 @@
+package org.json;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/*
+Copyright (c) 2002 JSON.org
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+The Software shall be used for Good, not Evil.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+
+/**
+ * A JSONValueList is the List that holds the elements of a JSONArray. While
+ * every element is an Integer, every element is a Long, every element is a
+ * Double, or every element is a Boolean, the elements are kept unboxed in an
+ * array of that primitive type, and they are boxed again only when they are
+ * got as Objects. The first element of another type turns the list into an
+ * ordinary array of Objects, for good.
+ * @author JSON.org
+ * @version 2026-10-18
+ */
+final class JSONValueList extends AbstractList implements RandomAccess {
+
+    /**
+     * The kinds of storage. A list is NONE until it gets its first element.
+     */
+    static final int
+        NONE = 0,
+        INT = 1,
+        LONG = 2,
+        DOUBLE = 3,
+        BOOLEAN = 4,
+        OBJECT = 5;
+
+    private boolean[] booleans;
+
+    private double[] doubles;
+
+    private int[] ints;
+
+    /**
+     * The kind of storage in use.
+     */
+    private int kind;
+
+    private long[] longs;
+
+    private Object[] objects;
+
+    /**
+     * The number of elements.
+     */
+    private int size;
+
+
+    /**
+     * Construct an empty JSONValueList.
+     */
+    JSONValueList() {
+        this.kind = NONE;
+    }
+
+
+    public void add(int index, Object value) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " +
+                this.size);
+        }
+        store(kindOf(value));
+        ensure(this.size + 1);
+        shift(index, index + 1, this.size - index);
+        this.size += 1;
+        put(index, value);
+        this.modCount += 1;
+    }
+
+
+    /**
+     * Add a double, without boxing it if the list is kept as doubles.
+     * @param value A double.
+     */
+    void addDouble(double value) {
+        if (this.kind == NONE || this.kind == DOUBLE) {
+            store(DOUBLE);
+            ensure(this.size + 1);
+            this.doubles[this.size] = value;
+            this.size += 1;
+            this.modCount += 1;
+        } else {
+            add(Double.valueOf(value));
+        }
+    }
+
+
+    /**
+     * Add the elements of a double array, without boxing them if the list is
+     * kept as doubles.
+     * @param values A double array.
+     */
+    void addDoubles(double[] values) {
+        if (this.kind == NONE || this.kind == DOUBLE) {
+            store(DOUBLE);
+            ensure(this.size + values.length);
+            System.arraycopy(values, 0, this.doubles, this.size, values.length);
+            this.size += values.length;
+            this.modCount += 1;
+        } else {
+            for (int i = 0; i < values.length; i += 1) {
+                add(Double.valueOf(values[i]));
+            }
+        }
+    }
+
+
+    /**
+     * Add an int, without boxing it if the list is kept as ints.
+     * @param value An int.
+     */
+    void addInt(int value) {
+        if (this.kind == NONE || this.kind == INT) {
+            store(INT);
+            ensure(this.size + 1);
+            this.ints[this.size] = value;
+            this.size += 1;
+            this.modCount += 1;
+        } else {
+            add(Integer.valueOf(value));
+        }
+    }
+
+
+    /**
+     * Add the elements of an int array, without boxing them if the list is
+     * kept as ints.
+     * @param values An int array.
+     */
+    void addInts(int[] values) {
+        if (this.kind == NONE || this.kind == INT) {
+            store(INT);
+            ensure(this.size + values.length);
+            System.arraycopy(values, 0, this.ints, this.size, values.length);
+            this.size += values.length;
+            this.modCount += 1;
+        } else {
+            for (int i = 0; i < values.length; i += 1) {
+                add(Integer.valueOf(values[i]));
+            }
+        }
+    }
+
+
+    /**
+     * Add a long, without boxing it if the list is kept as longs.
+     * @param value A long.
+     */
+    void addLong(long value) {
+        if (this.kind == NONE || this.kind == LONG) {
+            store(LONG);
+            ensure(this.size + 1);
+            this.longs[this.size] = value;
+            this.size += 1;
+            this.modCount += 1;
+        } else {
+            add(Long.valueOf(value));
+        }
+    }
+
+
+    /**
+     * Add the elements of a long array, without boxing them if the list is
+     * kept as longs.
+     * @param values A long array.
+     */
+    void addLongs(long[] values) {
+        if (this.kind == NONE || this.kind == LONG) {
+            store(LONG);
+            ensure(this.size + values.length);
+            System.arraycopy(values, 0, this.longs, this.size, values.length);
+            this.size += values.length;
+            this.modCount += 1;
+        } else {
+            for (int i = 0; i < values.length; i += 1) {
+                add(Long.valueOf(values[i]));
+            }
+        }
+    }
+
+
+    /**
+     * Get an element as a double. The list must be kept as ints, longs or
+     * doubles.
+     * @param index An index below the size.
+     * @return The element.
+     */
+    double doubleAt(int index) {
+        switch (this.kind) {
+        case INT:
+            return this.ints[index];
+        case LONG:
+            return this.longs[index];
+        default:
+            return this.doubles[index];
+        }
+    }
+
+
+    /**
+     * Make room for a number of elements.
+     * @param capacity The number of elements.
+     */
+    private void ensure(int capacity) {
+        int length = length();
+        if (capacity <= length) {
+            return;
+        }
+        int newLength = length + (length >> 1) + 1;
+        if (newLength < capacity) {
+            newLength = capacity;
+        }
+        switch (this.kind) {
+        case INT:
+            int[] newInts = new int[newLength];
+            System.arraycopy(this.ints, 0, newInts, 0, this.size);
+            this.ints = newInts;
+            break;
+        case LONG:
+            long[] newLongs = new long[newLength];
+            System.arraycopy(this.longs, 0, newLongs, 0, this.size);
+            this.longs = newLongs;
+            break;
+        case DOUBLE:
+            double[] newDoubles = new double[newLength];
+            System.arraycopy(this.doubles, 0, newDoubles, 0, this.size);
+            this.doubles = newDoubles;
+            break;
+        case BOOLEAN:
+            boolean[] newBooleans = new boolean[newLength];
+            System.arraycopy(this.booleans, 0, newBooleans, 0, this.size);
+            this.booleans = newBooleans;
+            break;
+        default:
+            Object[] newObjects = new Object[newLength];
+            System.arraycopy(this.objects, 0, newObjects, 0, this.size);
+            this.objects = newObjects;
+        }
+    }
+
+
+    public Object get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " +
+                this.size);
+        }
+        switch (this.kind) {
+        case INT:
+            return Integer.valueOf(this.ints[index]);
+        case LONG:
+            return Long.valueOf(this.longs[index]);
+        case DOUBLE:
+            return Double.valueOf(this.doubles[index]);
+        case BOOLEAN:
+            return this.booleans[index] ? Boolean.TRUE : Boolean.FALSE;
+        default:
+            return this.objects[index];
+        }
+    }
+
+
+    /**
+     * Get an element as an int. The list must be kept as ints, longs or
+     * doubles.
+     * @param index An index below the size.
+     * @return The element.
+     */
+    int intAt(int index) {
+        switch (this.kind) {
+        case INT:
+            return this.ints[index];
+        case LONG:
+            return (int)this.longs[index];
+        default:
+            return (int)this.doubles[index];
+        }
+    }
+
+
+    /**
+     * Determine if an index holds a number that can be read without boxing.
+     * @param index An index.
+     * @return true if the index is below the size and the list is kept as
+     *  ints, longs or doubles.
+     */
+    boolean isNumber(int index) {
+        return index >= 0 && index < this.size &&
+            this.kind >= INT && this.kind <= DOUBLE;
+    }
+
+
+    /**
+     * Get the kind of storage in use.
+     * @return NONE, INT, LONG, DOUBLE, BOOLEAN or OBJECT.
+     */
+    int kind() {
+        return this.kind;
+    }
+
+
+    /**
+     * Get the kind of storage that would hold a value unboxed.
+     * @param value A value.
+     * @return INT, LONG, DOUBLE, BOOLEAN or OBJECT.
+     */
+    private static int kindOf(Object value) {
+        if (value instanceof Integer) {
+            return INT;
+        }
+        if (value instanceof Long) {
+            return LONG;
+        }
+        if (value instanceof Double) {
+            return DOUBLE;
+        }
+        if (value instanceof Boolean) {
+            return BOOLEAN;
+        }
+        return OBJECT;
+    }
+
+
+    /**
+     * Get the length of the array in use.
+     * @return The length, or 0 if there is none.
+     */
+    private int length() {
+        switch (this.kind) {
+        case INT:
+            return this.ints.length;
+        case LONG:
+            return this.longs.length;
+        case DOUBLE:
+            return this.doubles.length;
+        case BOOLEAN:
+            return this.booleans.length;
+        case OBJECT:
+            return this.objects.length;
+        default:
+            return 0;
+        }
+    }
+
+
+    /**
+     * Get an element as a long. The list must be kept as ints, longs or
+     * doubles.
+     * @param index An index below the size.
+     * @return The element.
+     */
+    long longAt(int index) {
+        switch (this.kind) {
+        case INT:
+            return this.ints[index];
+        case LONG:
+            return this.longs[index];
+        default:
+            return (long)this.doubles[index];
+        }
+    }
+
+
+    /**
+     * Put a value at an index, in the storage that store has chosen.
+     * @param index An index below the size.
+     * @param value The value.
+     */
+    private void put(int index, Object value) {
+        switch (this.kind) {
+        case INT:
+            this.ints[index] = ((Integer)value).intValue();
+            break;
+        case LONG:
+            this.longs[index] = ((Long)value).longValue();
+            break;
+        case DOUBLE:
+            this.doubles[index] = ((Double)value).doubleValue();
+            break;
+        case BOOLEAN:
+            this.booleans[index] = ((Boolean)value).booleanValue();
+            break;
+        default:
+            this.objects[index] = value;
+        }
+    }
+
+
+    public Object remove(int index) {
+        Object previous = get(index);
+        shift(index + 1, index, this.size - index - 1);
+        this.size -= 1;
+        if (this.kind == OBJECT) {
+            this.objects[this.size] = null;
+        }
+        this.modCount += 1;
+        return previous;
+    }
+
+
+    public Object set(int index, Object value) {
+        Object previous = get(index);
+        store(kindOf(value));
+        put(index, value);
+        return previous;
+    }
+
+
+    /**
+     * Move a run of elements.
+     * @param from   The index of the first element to move.
+     * @param to     The index to move it to.
+     * @param length The number of elements to move.
+     */
+    private void shift(int from, int to, int length) {
+        switch (this.kind) {
+        case INT:
+            System.arraycopy(this.ints, from, this.ints, to, length);
+            break;
+        case LONG:
+            System.arraycopy(this.longs, from, this.longs, to, length);
+            break;
+        case DOUBLE:
+            System.arraycopy(this.doubles, from, this.doubles, to, length);
+            break;
+        case BOOLEAN:
+            System.arraycopy(this.booleans, from, this.booleans, to, length);
+            break;
+        default:
+            System.arraycopy(this.objects, from, this.objects, to, length);
+        }
+    }
+
+
+    public int size() {
+        return this.size;
+    }
+
+
+    /**
+     * Choose the storage for a value. An empty list takes the kind of the
+     * value. A list of another kind turns into a list of Objects.
+     * @param kind The kind of the value.
+     */
+    private void store(int kind) {
+        if (this.kind == kind) {
+            return;
+        }
+        if (this.kind == NONE) {
+            switch (kind) {
+            case INT:
+                this.ints = new int[10];
+                break;
+            case LONG:
+                this.longs = new long[10];
+                break;
+            case DOUBLE:
+                this.doubles = new double[10];
+                break;
+            case BOOLEAN:
+                this.booleans = new boolean[10];
+                break;
+            default:
+                this.objects = new Object[10];
+            }
+            this.kind = kind;
+        } else if (this.kind != OBJECT) {
+            Object[] newObjects = new Object[Math.max(length(), 10)];
+            for (int i = 0; i < this.size; i += 1) {
+                newObjects[i] = get(i);
+            }
+            this.objects = newObjects;
+            this.ints = null;
+            this.longs = null;
+            this.doubles = null;
+            this.booleans = null;
+            this.kind = OBJECT;
+        }
+    }
+
+
+    /**
+     * Copy the elements into a new double array. The list must be kept as
+     * ints, longs or doubles.
+     * @return The array.
+     */
+    double[] toDoubleArray() {
+        double[] result = new double[this.size];
+        if (this.kind == DOUBLE) {
+            System.arraycopy(this.doubles, 0, result, 0, this.size);
+        } else {
+            for (int i = 0; i < this.size; i += 1) {
+                result[i] = doubleAt(i);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Copy the elements into a new int array. The list must be kept as ints,
+     * longs or doubles.
+     * @return The array.
+     */
+    int[] toIntArray() {
+        int[] result = new int[this.size];
+        if (this.kind == INT) {
+            System.arraycopy(this.ints, 0, result, 0, this.size);
+        } else {
+            for (int i = 0; i < this.size; i += 1) {
+                result[i] = intAt(i);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Copy the elements into a new long array. The list must be kept as
+     * ints, longs or doubles.
+     * @return The array.
+     */
+    long[] toLongArray() {
+        long[] result = new long[this.size];
+        if (this.kind == LONG) {
+            System.arraycopy(this.longs, 0, result, 0, this.size);
+        } else {
+            for (int i = 0; i < this.size; i += 1) {
+                result[i] = longAt(i);
+            }
+        }
+        return result;
+    }
+}
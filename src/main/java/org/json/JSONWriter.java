@@ -210,8 +210,7 @@ public class JSONWriter {
                 if (comma) {
                     writer.write(',');
                 }
-                writer.write(JSONObject.quote(string));
-                writer.write(':');
+                JSONObject.writeKey(writer, string);
                 comma = false;
                 mode = 'o';
                 return this;
@@ -297,7 +296,10 @@ public class JSONWriter {
      * @throws JSONException If the number is not finite.
      */
     public JSONWriter value(double d) throws JSONException {
-        return value(new Double(d));
+        if (Double.isInfinite(d) || Double.isNaN(d)) {
+            throw new JSONException("JSON does not allow non-finite numbers.");
+        }
+        return append(JSONObject.doubleToString(d));
     }
 
     /**
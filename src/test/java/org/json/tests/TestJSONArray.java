@@ -974,4 +974,137 @@ public class TestJSONArray extends TestCase {
 			fail(ex.getMessage());
 		}
 	}
-}
\ No newline at end of file
+
+	public void testConstructor_RecordsWithSameKeys() {
+		try {
+			StringBuffer sb = new StringBuffer("[");
+			for (int i = 0; i < 20; i += 1) {
+				sb.append(i > 0 ? "," : "").append("{\"a\":").append(i);
+				for (int j = 0; j < 10; j += 1) {
+					sb.append(",\"k").append(j).append("\":").append(j);
+				}
+				sb.append('}');
+			}
+			JSONArray jsonarray = new JSONArray(sb.append(']').toString());
+			JSONObject first = jsonarray.getJSONObject(0);
+			JSONObject second = jsonarray.getJSONObject(1);
+			first.put("b", true);
+			second.remove("k3");
+			jsonarray.getJSONObject(2).keys().next();
+			jsonarray.getJSONObject(3).put("a", "three");
+			assertEquals(12, first.length());
+			assertTrue(first.getBoolean("b"));
+			assertEquals(3, first.getInt("k3"));
+			assertEquals(10, second.length());
+			assertFalse(second.has("b"));
+			assertFalse(second.has("k3"));
+			assertEquals(9, second.getInt("k9"));
+			assertEquals("three", jsonarray.getJSONObject(3).getString("a"));
+			for (int i = 4; i < 20; i += 1) {
+				JSONObject jsonobject = jsonarray.getJSONObject(i);
+				assertEquals(11, jsonobject.length());
+				assertEquals(i, jsonobject.getInt("a"));
+				assertEquals(3, jsonobject.getInt("k3"));
+				assertFalse(jsonobject.has("b"));
+			}
+			jsonarray = new JSONArray("[{\"x\":1, \"y\":2}, {\"x\":3, \"y\":4}]");
+			jsonarray.getJSONObject(1).put("z", 5);
+			assertEquals("[{\"x\":1,\"y\":2},{\"x\":3,\"y\":4,\"z\":5}]", jsonarray.toString());
+		} catch (JSONException ex) {
+			fail(ex.getMessage());
+		}
+	}
+
+	/**
+	 * Tests the putAll and toDoubleArray methods.
+	 */
+	public void testPutAll_Doubles() {
+		try {
+			double[] values = {1.5, -2.25, 3e10};
+			JSONArray jsa = new JSONArray();
+			jsa.putAll(values);
+			jsa.put(4.0);
+			assertEquals(4, jsa.length());
+			assertEquals(-2.25, jsa.getDouble(1), 0);
+			assertEquals(new Double(1.5), jsa.get(0));
+			assertEquals("[1.5,-2.25,3.0E10,4]", jsa.toString());
+			double[] result = jsa.toDoubleArray();
+			assertEquals(4, result.length);
+			assertEquals(3e10, result[2], 0);
+			assertEquals(4.0, result[3], 0);
+			try {
+				jsa.putAll(new double[] {1.0, Double.NaN});
+				fail("Should have thrown exception.");
+			} catch (JSONException ex) {
+				assertEquals("JSON does not allow non-finite numbers.", ex.getMessage());
+			}
+			assertEquals(4, jsa.length());
+		} catch (JSONException ex) {
+			fail(ex.getMessage());
+		}
+	}
+
+	/**
+	 * Tests the putAll, toIntArray and toLongArray methods.
+	 */
+	public void testPutAll_IntsAndLongs() {
+		try {
+			JSONArray jsa = new JSONArray();
+			jsa.putAll(new int[] {1, 2, 3});
+			jsa.put(4);
+			assertEquals(new Integer(2), jsa.get(1));
+			assertEquals(3L, jsa.getLong(2));
+			int[] ints = jsa.toIntArray();
+			assertEquals(4, ints.length);
+			assertEquals(4, ints[3]);
+			jsa = new JSONArray();
+			jsa.putAll(new long[] {5000000000L, -1L});
+			assertEquals(new Long(5000000000L), jsa.get(0));
+			assertEquals(5000000000L, jsa.toLongArray()[0]);
+			assertEquals(5.0E9, jsa.toDoubleArray()[0], 0);
+			assertEquals("[5000000000,-1]", jsa.toString());
+		} catch (JSONException ex) {
+			fail(ex.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that a JSONArray of one primitive type turns into a general one
+	 * when a value of another type is put into it.
+	 */
+	public void testPut_MixedTypes() {
+		try {
+			JSONArray jsa = new JSONArray();
+			jsa.put(1);
+			jsa.put(2);
+			jsa.put(2.5);
+			jsa.put(3L);
+			jsa.put("four");
+			jsa.put(1, true);
+			assertEquals("[1,true,2.5,3,\"four\"]", jsa.toString());
+			assertEquals(new Integer(1), jsa.get(0));
+			assertEquals(new Long(3), jsa.get(3));
+			assertEquals(2, jsa.getInt(2));
+			jsa.remove(0);
+			assertEquals(Boolean.TRUE, jsa.get(0));
+			try {
+				jsa.toDoubleArray();
+				fail("Should have thrown exception.");
+			} catch (JSONException ex) {
+				assertEquals("JSONArray[0] is not a number.", ex.getMessage());
+			}
+			jsa = new JSONArray("[1, 2, 3, 4.5, true, null]");
+			assertEquals(4.5, jsa.getDouble(3), 0);
+			assertTrue(jsa.getBoolean(4));
+			assertTrue(jsa.isNull(5));
+			jsa = new JSONArray("[true, false, true]");
+			jsa.remove(1);
+			assertEquals("[true,true]", jsa.toString());
+			jsa = new JSONArray("[10, 20, 30]");
+			jsa.put(5, 60);
+			assertEquals("[10,20,30,null,null,60]", jsa.toString());
+		} catch (JSONException ex) {
+			fail(ex.getMessage());
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package org.json.tests;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import org.json.JSONArray;
+import org.json.JSONByteTokener;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import junit.framework.TestCase;
+
+public class TestJSONByteTokener extends TestCase {
+
+	private static byte[] utf8(String string) {
+		try {
+			return string.getBytes("UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public void testNextValue_SameTreeAsJSONTokener() {
+		String string = "{\"name\":\"Gr\u00fc\u00dfe \u20ac \ud83d\ude00\",\"list\":[1, -2.5e3, true, null, unquoted text, 'single'],"
+				+ "\n\t\"esc\":\"a\\u00e9\\\"\\n\\/\", \"\u00e9t\u00e9\":{\"big\":12345678901234, \"k\":\u00fcber}}";
+		try {
+			JSONObject expected = new JSONObject(new JSONTokener(string));
+			JSONObject actual = new JSONObject(new JSONByteTokener(utf8(string)));
+			assertEquals(expected.toString(), actual.toString());
+			assertEquals("Gr\u00fc\u00dfe \u20ac \ud83d\ude00", actual.getString("name"));
+			assertEquals("\u00fcber", actual.getJSONObject("\u00e9t\u00e9").getString("k"));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testConstructor_ByteBuffer() {
+		ByteBuffer buffer = ByteBuffer.wrap(utf8("xx[1,2,\"\u00e9\"]yy"));
+		buffer.position(2);
+		buffer.limit(buffer.limit() - 2);
+		try {
+			JSONArray jsonarray = new JSONArray(new JSONByteTokener(buffer));
+			assertEquals("[1,2,\"\u00e9\"]", jsonarray.toString());
+			assertEquals(2, buffer.position());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testConstructor_DirectByteBuffer() {
+		byte[] bytes = utf8("{\"a\":[\"\u4e2d\u6587\"]}");
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes);
+		buffer.flip();
+		try {
+			JSONObject jsonobject = new JSONObject(new JSONByteTokener(buffer));
+			assertEquals("\u4e2d\u6587", jsonobject.getJSONArray("a").getString(0));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNext_MalformedSequence() {
+		byte[] bytes = new byte[] { '"', 'a', (byte)0xC3, 'b', (byte)0xFF, '"' };
+		try {
+			JSONByteTokener jsonbytetokener = new JSONByteTokener(bytes);
+			assertEquals("a\ufffdb\ufffd", jsonbytetokener.nextValue());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNext_SupplementaryCharacterAndBack() {
+		try {
+			JSONByteTokener jsonbytetokener = new JSONByteTokener(utf8("\ud83d\ude00x"));
+			assertEquals('\ud83d', jsonbytetokener.next());
+			assertEquals(" at 4 [character 2 line 1]", jsonbytetokener.toString());
+			jsonbytetokener.back();
+			assertEquals('\ud83d', jsonbytetokener.next());
+			assertEquals('\ude00', jsonbytetokener.next());
+			assertEquals('x', jsonbytetokener.next());
+			assertEquals(" at 5 [character 4 line 1]", jsonbytetokener.toString());
+			assertFalse(jsonbytetokener.more());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testBack_SameAsJSONTokener() {
+		String string = "ab\ncd";
+		JSONTokener[] tokeners = {
+			new JSONTokener(string),
+			new JSONByteTokener(utf8(string))
+		};
+		String[] positions = new String[2];
+		String[] errors = new String[2];
+		for (int i = 0; i < tokeners.length; i += 1) {
+			try {
+				tokeners[i].next();
+				tokeners[i].next();
+				tokeners[i].next();
+				tokeners[i].back();
+				positions[i] = tokeners[i].toString();
+				tokeners[i].back();
+				fail("Should have thrown exception");
+			} catch (JSONException ex) {
+				errors[i] = ex.getMessage();
+			}
+		}
+		assertEquals(positions[0], positions[1]);
+		assertEquals("Stepping back two steps is not supported", errors[0]);
+		assertEquals(errors[0], errors[1]);
+	}
+
+	public void testSyntaxError_ByteOffset() {
+		try {
+			new JSONObject(new JSONByteTokener(utf8("{\"\u00e9\u00e9\":1 \"b\":2}")));
+			fail("Should have thrown exception");
+		} catch (JSONException ex) {
+			assertEquals("Expected a ',' or '}' at 11 [character 10 line 1]", ex.getMessage());
+		}
+	}
+
+	public void testSyntaxError_SameAsJSONTokener() {
+		String[] strings = new String[] {
+			"{\"abc\":\r\n \"123\",\n\"wer\" \"rty\"}",
+			"['abc",
+			"{\"a\":\"b\\qc\"}",
+			"[1,2"
+		};
+		for (int i = 0; i < strings.length; i += 1) {
+			String expected = null;
+			try {
+				new JSONTokener(strings[i]).nextValue();
+				fail("Should have thrown exception");
+			} catch (JSONException ex) {
+				expected = ex.getMessage();
+			}
+			try {
+				new JSONByteTokener(utf8(strings[i])).nextValue();
+				fail("Should have thrown exception");
+			} catch (JSONException ex) {
+				assertEquals(expected, ex.getMessage());
+			}
+		}
+	}
+
+	public void testSkipTo() {
+		try {
+			JSONByteTokener jsonbytetokener = new JSONByteTokener(utf8("\u00e9{\"abc\":\"123\"}"));
+			assertEquals(0, jsonbytetokener.skipTo('g'));
+			assertEquals('\u00e9', jsonbytetokener.next());
+			assertEquals('1', jsonbytetokener.skipTo('1'));
+			assertEquals(" at 10 [character 10 line 1]", jsonbytetokener.toString());
+			assertEquals('1', jsonbytetokener.next());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+}
@@ -0,0 +1,203 @@
+package org.json.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import org.json.JSONArray;
+import org.json.JSONByteWriter;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONWriter;
+
+import junit.framework.TestCase;
+
+public class TestJSONByteWriter extends TestCase {
+
+	public void testValue_Utf8() {
+		JSONByteWriter bytes = new JSONByteWriter(4);
+		try {
+			JSONObject jo = new JSONObject()
+					.put("a", "caf\u00e9")
+					.put("b", "\u20ac\ud83d\ude00")
+					.put("c", new JSONArray().put(1).put(true));
+			bytes.value(jo);
+			assertEquals(jo.toString(), bytes.toString());
+			assertTrue(Arrays.equals(
+					jo.toString().getBytes("UTF-8"), bytes.toByteArray()));
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testWrite_Surrogates() {
+		JSONByteWriter bytes = new JSONByteWriter();
+		try {
+			bytes.write("x\ud83d");
+			bytes.write('\ude00');
+			bytes.write("\ud83dy\ude00z".toCharArray());
+			bytes.close();
+			assertEquals("x\ud83d\ude00?y?z", bytes.toString());
+		} catch (IOException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testWrite_Stream() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JSONByteWriter bytes = new JSONByteWriter(out);
+		try {
+			StringBuffer expected = new StringBuffer();
+			for (int i = 0; i < 2000; i += 1) {
+				JSONObject jo = new JSONObject().put("i", i).put("s", "\u00e9" + i);
+				jo.write(bytes);
+				expected.append(jo.toString());
+			}
+			assertTrue(out.size() > 0);
+			bytes.flush();
+			assertEquals(0, bytes.size());
+			assertEquals(expected.toString(), out.toString("UTF-8"));
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testWriteTo_Channel() {
+		JSONByteWriter bytes = new JSONByteWriter();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			new JSONWriter(bytes).object().key("k").value("v").endObject();
+			ByteBuffer buffer = bytes.toByteBuffer();
+			assertEquals(9, buffer.remaining());
+			bytes.writeTo(Channels.newChannel(out));
+			assertEquals("{\"k\":\"v\"}", out.toString("UTF-8"));
+			bytes.reset();
+			bytes.value("again");
+			assertEquals("\"again\"", bytes.toString());
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testValue_NonFinite() {
+		JSONByteWriter bytes = new JSONByteWriter();
+		try {
+			bytes.value(new Double(Double.NaN));
+			fail("Should have thrown exception.");
+		} catch (JSONException ex) {
+			assertEquals("JSON does not allow non-finite numbers.", ex.getMessage());
+		}
+	}
+
+	public void testWrite_RepeatedKeys() {
+		StringBuffer longKey = new StringBuffer();
+		for (int i = 0; i < 100; i += 1) {
+			longKey.append('k');
+		}
+		try {
+			JSONObject jo = new JSONObject()
+					.put("na\u00efve", 1)
+					.put("tab\tkey", 2)
+					.put("</", 3)
+					.put(longKey.toString(), 4);
+			String expected = "{\"na\u00efve\":1,\"tab\\tkey\":2,\"<\\/\":3,\""
+					+ longKey + "\":4}";
+			JSONByteWriter bytes = new JSONByteWriter(8);
+			for (int i = 0; i < 3; i += 1) {
+				bytes.reset();
+				jo.write(bytes);
+				assertEquals(expected, bytes.toString());
+				assertEquals(expected, jo.toString());
+			}
+			bytes.reset();
+			bytes.write("\ud83d");
+			jo.write(bytes);
+			assertEquals("?" + expected, bytes.toString());
+			assertEquals("{\n  \"na\u00efve\": 1,\n  \"tab\\tkey\": 2,\n  \"<\\/\": 3,\n  \""
+					+ longKey + "\": 4\n}", jo.toString(2));
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testWrite_CollidingKeys() {
+		try {
+			for (int i = 0; i < 4; i += 1) {
+				JSONArray ja = new JSONArray()
+						.put(new JSONObject().put("Aa", 1).put("id" + i, 0))
+						.put(new JSONObject().put("Aa", 3).put("BB", 2));
+				String expected = "[{\"Aa\":1,\"id" + i + "\":0},{\"Aa\":3,\"BB\":2}]";
+				JSONByteWriter bytes = new JSONByteWriter(8);
+				ja.write(bytes);
+				assertEquals(expected, bytes.toString());
+				assertEquals(expected, ja.toString());
+			}
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testWrite_Numbers() {
+		Number[] numbers = {
+				new Integer(0), new Integer(-7), new Integer(Integer.MIN_VALUE),
+				new Integer(Integer.MAX_VALUE), new Long(Long.MIN_VALUE),
+				new Long(Long.MAX_VALUE), new Short((short) -300),
+				new Byte((byte) 12), new Double(0.0), new Double(-0.0),
+				new Double(2.0), new Double(-2.5), new Double(9999999.0),
+				new Double(-9999999.0), new Double(1e7), new Double(0.001),
+				new Double(1e-4), new Double(123456789.0), new Double(1e22),
+				new Double(Double.MIN_VALUE), new Double(Double.MAX_VALUE),
+				new Double(4503599627370497.0), new Float(3.0f),
+				new Float(1.1f), new BigDecimal("1.500"),
+				new BigInteger("123456789012345678901234567890") };
+		try {
+			JSONArray boxed = new JSONArray();
+			JSONArray doubles = new JSONArray();
+			StringBuffer expected = new StringBuffer("[");
+			StringBuffer expectedDoubles = new StringBuffer("[");
+			for (int i = 0; i < numbers.length; i += 1) {
+				boxed.put(numbers[i]);
+				doubles.put(numbers[i].doubleValue());
+				if (i > 0) {
+					expected.append(',');
+					expectedDoubles.append(',');
+				}
+				expected.append(JSONObject.numberToString(numbers[i]));
+				expectedDoubles.append(JSONObject.doubleToString(
+						numbers[i].doubleValue()));
+			}
+			expected.append(']');
+			expectedDoubles.append(']');
+			assertEquals(expected.toString(), boxed.toString());
+			assertEquals(expectedDoubles.toString(), doubles.toString());
+			CharArrayWriter chars = new CharArrayWriter();
+			boxed.write(chars);
+			assertEquals(expected.toString(), chars.toString());
+			JSONByteWriter bytes = new JSONByteWriter(2);
+			boxed.write(bytes);
+			assertEquals(expected.toString(), bytes.toString());
+			bytes.reset();
+			doubles.write(bytes);
+			assertEquals(expectedDoubles.toString(), bytes.toString());
+			assertEquals("[-2147483648,9223372036854775807,-0,2,1.0E7,1.1]",
+					new JSONArray().put(numbers[2]).put(numbers[5])
+							.put(numbers[9]).put(numbers[10])
+							.put(numbers[14]).put(numbers[23]).toString());
+			assertEquals("[1,-2,3]", new JSONArray().putAll(
+					new long[] {1, -2, 3}).toString());
+			try {
+				new JSONArray().put(new Double(Double.NaN)).write(bytes);
+				fail("Should have thrown exception.");
+			} catch (JSONException ex) {
+				assertEquals("JSON does not allow non-finite numbers.", ex.getMessage());
+			}
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package org.json.tests;
+
+import org.json.JSONArray;
+import org.json.JSONColumns;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import junit.framework.TestCase;
+
+public class TestJSONColumns extends TestCase {
+
+	private static final String RECORDS = "[{\"id\":1, \"region\":\"eu\", \"amount\":10, \"ok\":true},"
+			+ " {\"id\":2, \"region\":\"us\", \"amount\":2.5, \"note\":null},"
+			+ " {\"id\":3, \"region\":\"eu\", \"amount\":-4, \"tags\":[1]},"
+			+ " {\"id\":4, \"region\":5}]";
+
+	public void testConstructor_Tokener() {
+		try {
+			JSONColumns columns = new JSONColumns(new JSONTokener(RECORDS));
+			assertEquals(4, columns.length());
+			assertEquals("[\"id\",\"region\",\"amount\",\"ok\",\"tags\"]", columns.names().toString());
+			assertEquals(10.0, columns.sum("id"), 0);
+			assertEquals(8.5, columns.sum("amount"), 0);
+			assertEquals(-4.0, columns.min("amount"), 0);
+			assertEquals(10.0, columns.max("amount"), 0);
+			assertEquals(3, columns.count("amount"));
+			assertEquals(0, columns.count("note"));
+			assertEquals(5.0, columns.sum("region"), 0);
+			assertTrue(Double.isNaN(columns.max("missing")));
+			assertEquals(2, columns.optLong(1, "amount"));
+			assertEquals("eu", columns.optString(2, "region"));
+			assertEquals("5", columns.optString(3, "region"));
+			assertTrue(columns.isNull(1, "note"));
+			assertTrue(columns.isNull(3, "amount"));
+			assertTrue(columns.isNull(9, "id"));
+			assertEquals(Boolean.TRUE, columns.opt(0, "ok"));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testGroupSum() {
+		try {
+			JSONColumns columns = new JSONColumns(new JSONTokener(
+					"[{k:'a', v:1}, {k:'b', v:2}, {k:'a', v:3}, {v:9}, {k:'c'}]"));
+			JSONObject sums = columns.groupSum("k", "v");
+			assertEquals(3, sums.length());
+			assertEquals(Long.valueOf(4), sums.get("a"));
+			assertEquals(Long.valueOf(2), sums.get("b"));
+			assertEquals(Long.valueOf(0), sums.get("c"));
+			assertEquals(0.0, columns.groupSum("k", "missing").getDouble("a"), 0);
+			assertEquals(0, columns.groupSum("missing", "v").length());
+			columns = new JSONColumns(new JSONTokener(RECORDS));
+			sums = columns.groupSum("region", "amount");
+			assertEquals(3, sums.length());
+			assertEquals(6.0, sums.getDouble("eu"), 0);
+			assertEquals(2.5, sums.getDouble("us"), 0);
+			assertEquals(0.0, sums.getDouble("5"), 0);
+			assertEquals(4, columns.groupSum("region", "id").getLong("5"));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testGetJSONObject_Rows() {
+		try {
+			JSONColumns columns = new JSONColumns(new JSONTokener(RECORDS));
+			JSONObject row = columns.getJSONObject(0);
+			assertEquals(Integer.valueOf(1), row.get("id"));
+			assertEquals(Double.valueOf(10), row.get("amount"));
+			assertEquals("{\"id\":2,\"region\":\"us\",\"amount\":2.5}", columns.getJSONObject(1).toString());
+			assertEquals("[1]", columns.getJSONObject(2).getJSONArray("tags").toString());
+			row.put("id", 99);
+			assertEquals(1, columns.optLong(0, "id"));
+			try {
+				columns.getJSONObject(4);
+				fail("Should have thrown");
+			} catch (JSONException ex) {
+				assertEquals("JSONColumns[4] not found.", ex.getMessage());
+			}
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testConstructor_JSONArray() {
+		try {
+			JSONArray jsonarray = new JSONArray();
+			for (int i = 0; i < 200; i += 1) {
+				JSONObject jsonobject = new JSONObject();
+				jsonobject.put("n", i);
+				if (i % 2 == 0) {
+					jsonobject.put("even", "yes");
+				}
+				if (i == 150) {
+					jsonobject.put("late", 12345678901L);
+				}
+				jsonarray.put(jsonobject);
+			}
+			JSONColumns columns = new JSONColumns(jsonarray);
+			assertEquals(200, columns.length());
+			assertEquals(19900.0, columns.sum("n"), 0);
+			assertEquals(100, columns.count("even"));
+			assertEquals(12345678901L, columns.optLong(150, "late"));
+			assertTrue(columns.isNull(199, "late"));
+			assertEquals(12345678901.0, columns.sum("late"), 0);
+			assertEquals(jsonarray.getJSONObject(150).toString(), columns.getJSONObject(150).toString());
+			assertEquals(jsonarray.toString(), columns.toString());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testConstructor_Errors() {
+		String[] texts = { "{}", "[{\"a\":1}, 2]", "[{\"a\":1, \"a\":2}]", "[{\"a\":1}" };
+		String[] messages = {
+				"A JSONArray text must start with '[' at 1 [character 2 line 1]",
+				"A JSONObject text must begin with '{' at 11 [character 12 line 1]",
+				"Duplicate key \"a\"",
+				"Expected a ',' or ']' at 9 [character 10 line 1]" };
+		for (int i = 0; i < texts.length; i += 1) {
+			try {
+				new JSONColumns(new JSONTokener(texts[i]));
+				fail("Should have thrown: " + texts[i]);
+			} catch (JSONException ex) {
+				assertEquals(messages[i], ex.getMessage());
+			}
+		}
+	}
+}
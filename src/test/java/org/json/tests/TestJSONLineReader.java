@@ -0,0 +1,80 @@
+package org.json.tests;
+
+import java.io.StringReader;
+import java.util.NoSuchElementException;
+
+import org.json.JSONException;
+import org.json.JSONLineReader;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import junit.framework.TestCase;
+
+public class TestJSONLineReader extends TestCase {
+
+	public void testNextJSONObject_Lines() {
+		JSONLineReader lines = new JSONLineReader(new JSONTokener(new StringReader(
+				"{\"a\":1}\n\n  {\"b\":[true]}  \r\n{\"c\":\"x\\ny\"}"), 4));
+		try {
+			assertTrue(lines.more());
+			assertEquals(1, lines.nextJSONObject().getInt("a"));
+			assertTrue(lines.more());
+			assertTrue(lines.nextJSONObject().getJSONArray("b").getBoolean(0));
+			assertTrue(lines.more());
+			assertEquals("x\ny", lines.nextJSONObject().getString("c"));
+			assertFalse(lines.more());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNextJSONObject_TwoOnALine() {
+		JSONLineReader lines = new JSONLineReader(new StringReader(
+				"{\"a\":1}\n{\"b\":2} {\"c\":3}\n"));
+		try {
+			lines.nextJSONObject();
+			lines.nextJSONObject();
+			fail("Should have thrown exception.");
+		} catch (JSONException ex) {
+			assertEquals("Expected a new line at 17 [character 9 line 2]",
+					ex.getMessage());
+		}
+	}
+
+	public void testNextJSONObject_NotAnObject() {
+		JSONLineReader lines = new JSONLineReader(new StringReader("[1]\n"));
+		try {
+			lines.nextJSONObject();
+			fail("Should have thrown exception.");
+		} catch (JSONException ex) {
+			assertEquals("A JSONObject text must begin with '{' at 1 [character 2 line 1]",
+					ex.getMessage());
+		}
+	}
+
+	public void testIterator() {
+		JSONLineReader lines = new JSONLineReader(new StringReader(
+				"{\"n\":1}\n{\"n\":2}\n{\"n\":3}\n"));
+		int sum = 0;
+		while (lines.hasNext()) {
+			sum += ((JSONObject) lines.next()).optInt("n");
+		}
+		assertEquals(6, sum);
+		try {
+			lines.next();
+			fail("Should have thrown exception.");
+		} catch (NoSuchElementException ex) {
+			// expected
+		}
+	}
+
+	public void testIterator_WrapsSyntaxError() {
+		JSONLineReader lines = new JSONLineReader(new StringReader("{\"n\":}\n"));
+		try {
+			lines.next();
+			fail("Should have thrown exception.");
+		} catch (RuntimeException ex) {
+			assertTrue(ex.getCause() instanceof JSONException);
+		}
+	}
+}
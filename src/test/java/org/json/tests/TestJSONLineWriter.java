@@ -0,0 +1,75 @@
+package org.json.tests;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONLineReader;
+import org.json.JSONLineWriter;
+import org.json.JSONObject;
+
+import junit.framework.TestCase;
+
+public class TestJSONLineWriter extends TestCase {
+
+	public void testWrite_Records() {
+		StringWriter sink = new StringWriter();
+		JSONLineWriter lines = new JSONLineWriter(sink, 16);
+		try {
+			lines.write(new JSONObject().put("a", 1))
+					.write(new JSONObject().put("b", "x\ny"))
+					.write(new JSONArray().put(true));
+			lines.close();
+			assertEquals("{\"a\":1}\n{\"b\":\"x\\ny\"}\n[true]\n", sink.toString());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testWrite_Buffers() {
+		StringWriter sink = new StringWriter();
+		JSONLineWriter lines = new JSONLineWriter(sink);
+		try {
+			lines.write(new JSONObject().put("a", 1));
+			assertEquals("", sink.toString());
+			lines.flush();
+			assertEquals("{\"a\":1}\n", sink.toString());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testWrite_RoundTrip() {
+		StringWriter sink = new StringWriter();
+		JSONLineWriter lines = new JSONLineWriter(sink, 64);
+		try {
+			for (int i = 0; i < 1000; i += 1) {
+				lines.write(new JSONObject().put("i", i).put("s", "r" + i));
+			}
+			lines.close();
+			JSONLineReader reader = new JSONLineReader(new StringReader(
+					sink.toString()));
+			int i = 0;
+			while (reader.more()) {
+				JSONObject jo = reader.nextJSONObject();
+				assertEquals(i, jo.getInt("i"));
+				assertEquals("r" + i, jo.getString("s"));
+				i += 1;
+			}
+			assertEquals(1000, i);
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testWrite_NonFinite() {
+		JSONLineWriter lines = new JSONLineWriter(new StringWriter());
+		try {
+			lines.write(new Double(Double.NaN));
+			fail("Should have thrown exception.");
+		} catch (JSONException ex) {
+			assertEquals("JSON does not allow non-finite numbers.", ex.getMessage());
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package org.json.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.json.JSONException;
+import org.json.JSONMappedTokener;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import junit.framework.TestCase;
+
+public class TestJSONMappedTokener extends TestCase {
+
+	private File file;
+
+	protected void setUp() throws IOException {
+		file = File.createTempFile("TestJSONMappedTokener", ".json");
+	}
+
+	protected void tearDown() {
+		file.delete();
+	}
+
+	private void write(String string) throws IOException {
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(string.getBytes("UTF-8"));
+		} finally {
+			out.close();
+		}
+	}
+
+	public void testNextValue_AcrossSegments() throws IOException {
+		String string = "{\"name\":\"Gr\u00fc\u00dfe \u20ac \ud83d\ude00\",\n\"list\":[1, -2.5e3, true, null, x],"
+				+ "\"esc\":\"a\\u00e9\\\"\\n\", \"\u00e9t\u00e9\":{\"k\":\u00fcber}}";
+		write(string);
+		try {
+			String expected = new JSONObject(new JSONTokener(string)).toString();
+			for (int size = 4; size <= 16; size += 1) {
+				JSONMappedTokener jsonmappedtokener = new JSONMappedTokener(file, size);
+				try {
+					assertEquals(expected, new JSONObject(jsonmappedtokener).toString());
+				} finally {
+					jsonmappedtokener.close();
+				}
+			}
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testSyntaxError_ByteOffset() throws IOException {
+		write("{\"\u00e9\u00e9\":1,\n\"b\":2 \"c\":3}");
+		try {
+			JSONMappedTokener jsonmappedtokener = new JSONMappedTokener(file, 5);
+			try {
+				new JSONObject(jsonmappedtokener);
+				fail("Should have thrown exception");
+			} finally {
+				jsonmappedtokener.close();
+			}
+		} catch (JSONException ex) {
+			assertEquals("Expected a ',' or '}' at 18 [character 7 line 2]", ex.getMessage());
+		}
+	}
+
+	public void testSkipTo_AcrossSegments() throws IOException {
+		write("{\"abc\":\"123\",\"wer\":\"rty\"}");
+		try {
+			JSONMappedTokener jsonmappedtokener = new JSONMappedTokener(file, 4);
+			try {
+				assertEquals('{', jsonmappedtokener.next());
+				assertEquals("abc", jsonmappedtokener.nextValue());
+				assertEquals(0, jsonmappedtokener.skipTo('g'));
+				assertEquals(':', jsonmappedtokener.next());
+				assertEquals('t', jsonmappedtokener.skipTo('t'));
+				assertEquals('t', jsonmappedtokener.next());
+				assertEquals('y', jsonmappedtokener.next());
+			} finally {
+				jsonmappedtokener.close();
+			}
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testConstructor_MissingFile() {
+		try {
+			new JSONMappedTokener(new File(file.getPath() + ".missing"));
+			fail("Should have thrown exception");
+		} catch (JSONException ex) {
+			assertNotNull(ex.getCause());
+		}
+	}
+
+	public void testSkipValue_AcrossSegments() throws IOException {
+		String string = "{\"skip\":[\"a\\\"]\", {\"b\":\u00fcber}, 'c'],\n\"keep\":1} X";
+		write(string);
+		try {
+			for (int size = 4; size <= 16; size += 1) {
+				JSONMappedTokener jsonmappedtokener = new JSONMappedTokener(file, size);
+				try {
+					jsonmappedtokener.skipValue();
+					assertEquals('X', jsonmappedtokener.nextClean());
+					assertEquals(" at 47 [character 11 line 2]", jsonmappedtokener.toString());
+				} finally {
+					jsonmappedtokener.close();
+				}
+			}
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package org.json.tests;
+
+import org.json.JSONArray;
+import org.json.JSONByteTokener;
+import org.json.JSONException;
+import org.json.JSONNumber;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import junit.framework.TestCase;
+
+public class TestJSONNumber extends TestCase {
+
+	private static JSONTokener lazy(String string) {
+		JSONTokener jsontokener = new JSONTokener(string);
+		jsontokener.setLazyNumbers(true);
+		return jsontokener;
+	}
+
+	public void testGetters() {
+		try {
+			JSONObject jsonobject = new JSONObject(lazy(
+					"{\"i\":42, \"l\":12345678901, \"d\":-1.50, \"e\":2.5E3}"));
+			assertTrue(jsonobject.opt("i") instanceof JSONNumber);
+			assertEquals(42, jsonobject.getInt("i"));
+			assertEquals(12345678901L, jsonobject.getLong("l"));
+			assertEquals(-1.5, jsonobject.getDouble("d"), 0);
+			assertEquals(2500, jsonobject.getInt("e"));
+			assertEquals(new Integer(42), ((JSONNumber) jsonobject.opt("i")).getValue());
+			assertEquals(new Long(12345678901L), ((JSONNumber) jsonobject.opt("l")).getValue());
+			assertEquals(new Double(-1.5), ((JSONNumber) jsonobject.opt("d")).getValue());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testToString_Verbatim() {
+		String string = "[1.50,12345678901234567890.123456789,-0,1E+2,0.000]";
+		try {
+			assertEquals(string, new JSONArray(lazy(string)).toString());
+			assertEquals("[1.5,1.2345678901234567E19,0,100,0]",
+					new JSONArray(string).toString());
+			JSONByteTokener jsonbytetokener = new JSONByteTokener(
+					string.getBytes("UTF-8"));
+			jsonbytetokener.setLazyNumbers(true);
+			assertEquals(string, new JSONArray(jsonbytetokener).toString());
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testToString_LenientNotLazy() {
+		String[] strings = {"{\"a\":01}", "[00.10, 1., .5, -.5e1, -01]"};
+		try {
+			for (int i = 0; i < strings.length; i += 1) {
+				String eager = new JSONTokener(strings[i]).nextValue().toString();
+				assertEquals(eager, lazy(strings[i]).nextValue().toString());
+				JSONByteTokener jsonbytetokener = new JSONByteTokener(
+						strings[i].getBytes("UTF-8"));
+				jsonbytetokener.setLazyNumbers(true);
+				assertEquals(eager, jsonbytetokener.nextValue().toString());
+			}
+			assertEquals("{\"a\":1}", new JSONObject(lazy("{\"a\":01}")).toString());
+			JSONArray jsonarray = new JSONArray(lazy("[00.10, 1., .5, -.5e1, 0e1]"));
+			assertFalse(jsonarray.opt(0) instanceof JSONNumber);
+			assertFalse(jsonarray.opt(1) instanceof JSONNumber);
+			assertFalse(jsonarray.opt(2) instanceof JSONNumber);
+			assertFalse(jsonarray.opt(3) instanceof JSONNumber);
+			assertTrue(jsonarray.opt(4) instanceof JSONNumber);
+			assertEquals("[0.1,1,0.5,-5,0e1]", jsonarray.toString());
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNextValue_NotLazy() {
+		try {
+			JSONArray jsonarray = new JSONArray(lazy(
+					"[1e400, 99999999999999999999, +1, 0x1F, abc, true]"));
+			assertEquals("1e400", jsonarray.get(0));
+			assertEquals("99999999999999999999", jsonarray.get(1));
+			assertEquals(new Integer(1), jsonarray.get(2));
+			assertEquals("0x1F", jsonarray.get(3));
+			assertEquals("abc", jsonarray.get(4));
+			assertEquals(Boolean.TRUE, jsonarray.get(5));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testIncrement() {
+		try {
+			JSONObject jsonobject = new JSONObject(lazy("{\"n\":41}"));
+			jsonobject.increment("n");
+			assertEquals(new Integer(42), jsonobject.get("n"));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testEquals() {
+		try {
+			JSONArray jsonarray = new JSONArray(lazy("[1.0, 1.00, 1]"));
+			assertEquals(jsonarray.get(0), jsonarray.get(1));
+			assertEquals(jsonarray.get(0).hashCode(), jsonarray.get(1).hashCode());
+			assertFalse(jsonarray.get(0).equals(jsonarray.get(2)));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+}
@@ -513,6 +513,22 @@ public class TestJSONObject extends TestCase {
 		assertEquals("\"\\u0012\\u0085\\u2086\u2286\"", JSONObject.quote("\u0012\u0085\u2086\u2286"));
 	}
 
+	public void testQuote_Writer() {
+		try {
+			StringWriter sw = new StringWriter();
+			JSONObject.quote("ab\"cd\\ef</g>h\u001fij", sw);
+			assertEquals("\"ab\\\"cd\\\\ef<\\/g>h\\u001fij\"", sw.toString());
+			assertEquals(sw.toString(), JSONObject.quote("ab\"cd\\ef</g>h\u001fij"));
+			assertEquals("\"/a/<\\/\"", JSONObject.quote("/a/</"));
+			JSONObject jsonobject = new JSONObject();
+			jsonobject.put("a\tb", 1);
+			jsonobject.put("\u2028", "</x>");
+			assertEquals("{\"a\\tb\":1,\"\\u2028\":\"<\\/x>\"}", jsonobject.toString());
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
 	public void testGetNames() {
 		try {
 			JSONObject jso = new JSONObject();
@@ -1615,4 +1631,51 @@ public class TestJSONObject extends TestCase {
 		assertEquals("1.0E89", JSONObject.doubleToString(10e88));
 		assertEquals("1.0E89", JSONObject.doubleToString(10E88));
 	}
-}
\ No newline at end of file
+
+	public void testKeys_InsertionOrder() {
+		try {
+			JSONObject jsonobject = new JSONObject("{\"zeta\":1, \"alpha\":2, \"mu\":3}");
+			jsonobject.put("beta", 4);
+			jsonobject.put("zeta", 5);
+			assertEquals("{\"zeta\":5,\"alpha\":2,\"mu\":3,\"beta\":4}", jsonobject.toString());
+			Iterator iterator = jsonobject.keys();
+			assertEquals("zeta", iterator.next());
+			iterator.remove();
+			assertEquals("alpha", iterator.next());
+			assertEquals("{\"alpha\":2,\"mu\":3,\"beta\":4}", jsonobject.toString());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testPut_ManyKeys() {
+		try {
+			JSONObject jsonobject = new JSONObject();
+			for (int i = 0; i < 100; i += 1) {
+				jsonobject.put("key" + i, i);
+			}
+			assertEquals(100, jsonobject.length());
+			for (int i = 0; i < 100; i += 1) {
+				assertEquals(i, jsonobject.getInt("key" + i));
+			}
+			assertFalse(jsonobject.has("key100"));
+			for (int i = 0; i < 100; i += 2) {
+				assertEquals(Integer.valueOf(i), jsonobject.remove("key" + i));
+			}
+			assertEquals(50, jsonobject.length());
+			assertNull(jsonobject.opt("key0"));
+			assertEquals(99, jsonobject.getInt("key99"));
+			for (int i = 1; i < 90; i += 2) {
+				jsonobject.remove("key" + i);
+			}
+			assertEquals("{\"key91\":91,\"key93\":93,\"key95\":95,\"key97\":97,\"key99\":99}",
+					jsonobject.toString());
+			assertEquals(95, jsonobject.getInt("key95"));
+			Map map = new HashMap();
+			map.put("key91", Integer.valueOf(91));
+			assertEquals(91, new JSONObject(map).getInt("key91"));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package org.json.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONParallelArrayParser;
+
+import junit.framework.TestCase;
+
+public class TestJSONParallelArrayParser extends TestCase {
+
+	private ExecutorService executor;
+
+	protected void setUp() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	protected void tearDown() {
+		executor.shutdownNow();
+	}
+
+	private void assertSameAsSequential(String string) throws IOException,
+			JSONException {
+		String expected = new JSONArray(string).toString();
+		byte[] bytes = string.getBytes("UTF-8");
+		for (int size = 1; size <= 32; size += 1) {
+			JSONParallelArrayParser parser = new JSONParallelArrayParser(
+					executor, size);
+			assertEquals(expected, parser.parse(ByteBuffer.wrap(bytes)).toString());
+		}
+	}
+
+	public void testParse_SameAsSequential() {
+		try {
+			assertSameAsSequential("[]");
+			assertSameAsSequential(" [ , ] ");
+			assertSameAsSequential("[1, 2.5, -3e2, true, null, \"a\"]");
+			assertSameAsSequential("[1,,2;'a,]b', \"x\\\"],\", abc'd, ab c ,"
+					+ " {\"k\":[1,2], 'l':{}}, [[], [\"]\"]], \"\u00e9\u20ac\",]");
+			assertSameAsSequential("[{\"s\":\"\\\\\"}, {\"t\":'\\''}] trailing");
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testParse_ManyElements() {
+		StringBuffer sb = new StringBuffer("[");
+		for (int i = 0; i < 2000; i += 1) {
+			if (i > 0) {
+				sb.append(",\n");
+			}
+			sb.append("{\"i\":").append(i).append(",\"a\":[").append(i)
+					.append(",\"]\"]}");
+		}
+		sb.append("]");
+		try {
+			JSONArray ja = new JSONParallelArrayParser(executor, 1000)
+					.parse(ByteBuffer.wrap(sb.toString().getBytes("UTF-8")));
+			assertEquals(2000, ja.length());
+			for (int i = 0; i < 2000; i += 1) {
+				assertEquals(i, ja.getJSONObject(i).getInt("i"));
+			}
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testParse_File() throws IOException {
+		String string = "[{\"a\":1}, \"b\", [3], 4]";
+		File file = File.createTempFile("TestJSONParallelArrayParser", ".json");
+		try {
+			FileOutputStream out = new FileOutputStream(file);
+			try {
+				out.write(string.getBytes("UTF-8"));
+			} finally {
+				out.close();
+			}
+			assertEquals(new JSONArray(string).toString(),
+					new JSONParallelArrayParser(executor, 4).parse(file).toString());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testParse_NotAnArray() throws IOException {
+		try {
+			new JSONParallelArrayParser(executor, 4).parse(
+					ByteBuffer.wrap(" {\"a\":1}".getBytes("UTF-8")));
+			fail("Should have thrown exception.");
+		} catch (JSONException ex) {
+			assertEquals("A JSONArray text must start with '[' at 2 [character 3 line 1]",
+					ex.getMessage());
+		}
+	}
+
+	public void testParse_Unterminated() throws IOException {
+		try {
+			new JSONParallelArrayParser(executor, 4).parse(
+					ByteBuffer.wrap("[1, [2, 3], 4".getBytes("UTF-8")));
+			fail("Should have thrown exception.");
+		} catch (JSONException ex) {
+			assertEquals("Expected a ',' or ']' at 14 [character 15 line 1]",
+					ex.getMessage());
+		}
+	}
+
+	public void testParse_ErrorInRun() throws IOException {
+		try {
+			new JSONParallelArrayParser(executor, 4).parse(
+					ByteBuffer.wrap("[1, 2, {\"a\"}, 4]".getBytes("UTF-8")));
+			fail("Should have thrown exception.");
+		} catch (JSONException ex) {
+			assertEquals("Expected a ':' after a key at 6 [character 7 line 1] in the chunk at byte 6",
+					ex.getMessage());
+			assertEquals("Expected a ':' after a key at 6 [character 7 line 1]",
+					ex.getCause().getMessage());
+		}
+	}
+
+	public void testParse_MismatchedBrackets() throws IOException {
+		String[] strings = {"[}", "[1}", "[1, 2}", "[[1}, 2]", "[{\"a\":1], 2]"};
+		for (int i = 0; i < strings.length; i += 1) {
+			String expected = null;
+			try {
+				new JSONArray(strings[i]);
+				fail("Should have thrown exception.");
+			} catch (JSONException ex) {
+				expected = ex.getMessage();
+			}
+			for (int size = 1; size <= 8; size += 1) {
+				try {
+					new JSONParallelArrayParser(executor, size).parse(
+							ByteBuffer.wrap(strings[i].getBytes("UTF-8")));
+					fail("Should have thrown exception for " + strings[i]);
+				} catch (JSONException ex) {
+					if (i < 3) {
+						assertEquals(expected, ex.getMessage());
+					}
+				}
+			}
+		}
+	}
+}
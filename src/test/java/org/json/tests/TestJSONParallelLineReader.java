@@ -0,0 +1,127 @@
+package org.json.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONParallelLineReader;
+
+import junit.framework.TestCase;
+
+public class TestJSONParallelLineReader extends TestCase {
+
+	private ExecutorService executor;
+
+	protected void setUp() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	protected void tearDown() {
+		executor.shutdownNow();
+	}
+
+	private static byte[] lines(int count) throws IOException {
+		StringBuffer sb = new StringBuffer();
+		for (int i = 0; i < count; i += 1) {
+			sb.append("{\"i\":").append(i).append(",\"s\":\"\u00e9").append(i)
+					.append("\"}\n");
+			if (i % 7 == 0) {
+				sb.append('\n');
+			}
+		}
+		return sb.toString().getBytes("UTF-8");
+	}
+
+	public void testNextJSONObject_Ordered() throws IOException {
+		for (int size = 1; size < 200; size += 37) {
+			JSONParallelLineReader lines = new JSONParallelLineReader(
+					ByteBuffer.wrap(lines(500)), executor, size, true);
+			try {
+				int i = 0;
+				while (lines.more()) {
+					JSONObject jo = lines.nextJSONObject();
+					assertEquals(i, jo.getInt("i"));
+					assertEquals("\u00e9" + i, jo.getString("s"));
+					i += 1;
+				}
+				assertEquals(500, i);
+			} catch (JSONException ex) {
+				fail(ex.toString());
+			}
+		}
+	}
+
+	public void testNextJSONObject_Unordered() throws IOException {
+		JSONParallelLineReader lines = new JSONParallelLineReader(
+				ByteBuffer.wrap(lines(1000)), executor, 100, false);
+		boolean seen[] = new boolean[1000];
+		int count = 0;
+		while (lines.hasNext()) {
+			int i = ((JSONObject) lines.next()).optInt("i");
+			assertFalse(seen[i]);
+			seen[i] = true;
+			count += 1;
+		}
+		assertEquals(1000, count);
+	}
+
+	public void testNextJSONObject_File() throws IOException {
+		File file = File.createTempFile("TestJSONParallelLineReader", ".json");
+		try {
+			FileOutputStream out = new FileOutputStream(file);
+			try {
+				out.write(lines(300));
+			} finally {
+				out.close();
+			}
+			JSONParallelLineReader lines = new JSONParallelLineReader(file,
+					executor, 64, true);
+			try {
+				int i = 0;
+				while (lines.more()) {
+					assertEquals(i, lines.nextJSONObject().getInt("i"));
+					i += 1;
+				}
+				assertEquals(300, i);
+			} finally {
+				lines.close();
+			}
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testNextJSONObject_SyntaxError() throws IOException {
+		JSONParallelLineReader lines = new JSONParallelLineReader(
+				ByteBuffer.wrap("{\"a\":1}\n{\"b\":}\n".getBytes("UTF-8")),
+				executor, 4, true);
+		try {
+			assertEquals(1, lines.nextJSONObject().getInt("a"));
+			lines.nextJSONObject();
+			fail("Should have thrown exception.");
+		} catch (JSONException ex) {
+			assertEquals("Missing value at 5 [character 6 line 1] in the chunk at byte 8",
+					ex.getMessage());
+			assertEquals("Missing value at 5 [character 6 line 1]",
+					ex.getCause().getMessage());
+		}
+	}
+
+	public void testMore_Empty() {
+		JSONParallelLineReader lines = new JSONParallelLineReader(
+				ByteBuffer.allocate(0), executor, 16, false);
+		try {
+			assertFalse(lines.more());
+			lines.close();
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+}
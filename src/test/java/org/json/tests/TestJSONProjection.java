@@ -0,0 +1,85 @@
+package org.json.tests;
+
+import java.io.StringReader;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONProjection;
+import org.json.JSONTokener;
+
+import junit.framework.TestCase;
+
+public class TestJSONProjection extends TestCase {
+
+	private static final String DOCUMENT = "{\"skip\":{\"deep\":[1, {\"x\":\"}]\\\"\"}, 'y']},"
+			+ "\"user\":{\"name\":\"Ann\", \"id\":42, \"tags\":[\"a\", \"b\"]},"
+			+ "\"odd\":ab'c, \"a/b\":true, \"meta\":{\"region\":\"eu\"},"
+			+ "\"tail\":[1, 2, 3]}";
+
+	public void testParse_SelectedMembers() {
+		try {
+			JSONProjection projection = new JSONProjection(new String[] {
+					"/user/id", "/meta/region", "/a~1b", "/user/tags", "/missing" });
+			JSONObject jsonobject = projection.parse(DOCUMENT);
+			assertEquals(3, jsonobject.length());
+			assertTrue(jsonobject.getBoolean("a/b"));
+			assertEquals(2, jsonobject.getJSONObject("user").length());
+			assertEquals(42, jsonobject.getJSONObject("user").getInt("id"));
+			assertEquals("[\"a\",\"b\"]", jsonobject.getJSONObject("user")
+					.getJSONArray("tags").toString());
+			assertEquals("eu", jsonobject.getJSONObject("meta").getString("region"));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testParse_StopsEarly() {
+		try {
+			JSONProjection projection = new JSONProjection(new String[] {
+					"/user/id", "/user" });
+			JSONTokener jsontokener = new JSONTokener(new StringReader(
+					DOCUMENT + " this is never read {"), 5);
+			JSONObject jsonobject = projection.parse(jsontokener);
+			assertEquals("Ann", jsonobject.getJSONObject("user").getString("name"));
+			assertEquals(',', jsontokener.nextClean());
+			assertEquals("odd", jsontokener.nextKey());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testParse_PathThroughNonObject() {
+		try {
+			JSONProjection projection = new JSONProjection(new String[] {
+					"/tail/0", "/odd/x", "/meta/region" });
+			JSONObject jsonobject = projection.parse(DOCUMENT);
+			assertEquals(1, jsonobject.length());
+			assertEquals("eu", jsonobject.getJSONObject("meta").getString("region"));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testParse_SyntaxErrors() {
+		try {
+			new JSONProjection(new String[] { "/a" }).parse("{\"b\":[1, [2]");
+			fail("Should have thrown exception.");
+		} catch (JSONException ex) {
+			assertEquals("Unterminated value at 13 [character 14 line 1]",
+					ex.getMessage());
+		}
+		try {
+			new JSONProjection(new String[] { "/a" }).parse("{\"b\":}");
+			fail("Should have thrown exception.");
+		} catch (JSONException ex) {
+			assertEquals("Missing value at 5 [character 6 line 1]",
+					ex.getMessage());
+		}
+		try {
+			new JSONProjection(new String[] { "a" });
+			fail("Should have thrown exception.");
+		} catch (JSONException ex) {
+			assertEquals("A path must begin with '/': a", ex.getMessage());
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package org.json.tests;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import org.json.JSONArray;
+import org.json.JSONByteTokener;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONPushParser;
+import org.json.JSONTokener;
+
+import junit.framework.TestCase;
+
+public class TestJSONPushParser extends TestCase {
+
+	private static byte[] utf8(String string) {
+		try {
+			return string.getBytes("UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public void testFeed_EverySplitPoint() {
+		String string = "{\"name\":\"Gr\u00fc\u00dfe \u20ac \ud83d\ude00\",\"list\":[1, -2.5e3, true, null,, x y, 'single',],"
+				+ "\n\t\"esc\":\"a\\u00e9\\\"\\n\\/\", \u00e9t\u00e9=>{\"big\":12345678901234; \"k\":\u00fcber}}";
+		byte[] bytes = utf8(string);
+		try {
+			String expected = new JSONObject(new JSONTokener(string)).toString();
+			for (int split = 0; split <= bytes.length; split += 1) {
+				JSONPushParser jsonpushparser = new JSONPushParser();
+				jsonpushparser.feed(bytes, 0, split);
+				jsonpushparser.feed(bytes, split, bytes.length - split);
+				jsonpushparser.endOfInput();
+				assertEquals(expected, jsonpushparser.nextValue().toString());
+				assertFalse(jsonpushparser.hasNext());
+			}
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testFeed_OneByteAtATime() {
+		byte[] bytes = utf8("[\"\\u00e9\\u20AC\", \"\u00e9\u20ac\ud83d\ude00\", 12.5e-1]");
+		JSONPushParser jsonpushparser = new JSONPushParser();
+		try {
+			for (int i = 0; i < bytes.length; i += 1) {
+				assertFalse(jsonpushparser.hasNext());
+				jsonpushparser.feed(ByteBuffer.wrap(bytes, i, 1));
+			}
+			JSONArray jsonarray = (JSONArray)jsonpushparser.nextValue();
+			assertEquals("\u00e9\u20ac", jsonarray.getString(0));
+			assertEquals("\u00e9\u20ac\ud83d\ude00", jsonarray.getString(1));
+			assertEquals(1.25, jsonarray.getDouble(2), 0);
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNextValue_TopLevelSequence() {
+		JSONPushParser jsonpushparser = new JSONPushParser();
+		try {
+			jsonpushparser.feed(ByteBuffer.wrap(utf8("{\"a\":1}\n[2]\n\"three\" 4")));
+			assertEquals("{\"a\":1}", jsonpushparser.nextValue().toString());
+			assertEquals("[2]", jsonpushparser.nextValue().toString());
+			assertEquals("three", jsonpushparser.nextValue());
+			assertNull(jsonpushparser.nextValue());
+			jsonpushparser.feed(ByteBuffer.wrap(utf8("2")));
+			assertFalse(jsonpushparser.hasNext());
+			jsonpushparser.endOfInput();
+			assertEquals(new Integer(42), jsonpushparser.nextValue());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testFeed_SyntaxErrors() {
+		String[] strings = new String[] { "{\"a\" 1}", "{\"a\":1 \"b\":2}", "[1, 2 {}]", "{\"a\":1", "[1,", "{", "['abc", "{\"a\":\"b\\qc\"}" };
+		String[] messages = new String[] {
+			"Expected a ':' after a key",
+			"Expected a ',' or '}'",
+			"Expected a ',' or ']'",
+			"Expected a ',' or '}'",
+			"Missing value",
+			"A JSONObject text must end with '}'",
+			"Unterminated string",
+			"Illegal escape."
+		};
+		for (int i = 0; i < strings.length; i += 1) {
+			JSONPushParser jsonpushparser = new JSONPushParser();
+			try {
+				jsonpushparser.feed(ByteBuffer.wrap(utf8(strings[i])));
+				jsonpushparser.endOfInput();
+				fail("Should have thrown exception");
+			} catch (JSONException ex) {
+				assertTrue(ex.getMessage(), ex.getMessage().startsWith(messages[i] + " at "));
+			}
+		}
+	}
+
+	public void testFeed_AfterFailure() {
+		JSONPushParser jsonpushparser = new JSONPushParser();
+		try {
+			jsonpushparser.feed(ByteBuffer.wrap(utf8("[1 2 {]")));
+			fail("Should have thrown exception");
+		} catch (JSONException ex) {
+			try {
+				jsonpushparser.feed(ByteBuffer.wrap(utf8("]")));
+				fail("Should have thrown exception");
+			} catch (JSONException again) {
+				assertSame(ex, again);
+			}
+		}
+	}
+
+	public void testFeed_DuplicateKey() {
+		JSONPushParser jsonpushparser = new JSONPushParser();
+		try {
+			jsonpushparser.feed(ByteBuffer.wrap(utf8("{\"a\":1,\"a\":2}")));
+			fail("Should have thrown exception");
+		} catch (JSONException ex) {
+			assertEquals("Duplicate key \"a\"", ex.getMessage());
+		}
+	}
+
+	public void testFeed_OverlongQuote() {
+		byte[][] sequences = {
+			{(byte) 0xE0, (byte) 0x80, (byte) 0xA2},
+			{(byte) 0xF0, (byte) 0x80, (byte) 0x80, (byte) 0xA2}
+		};
+		for (int i = 0; i < sequences.length; i += 1) {
+			byte[] head = utf8("[\"x");
+			byte[] tail = utf8(",1]");
+			byte[] bytes = new byte[head.length + sequences[i].length + tail.length];
+			System.arraycopy(head, 0, bytes, 0, head.length);
+			System.arraycopy(sequences[i], 0, bytes, head.length, sequences[i].length);
+			System.arraycopy(tail, 0, bytes, head.length + sequences[i].length, tail.length);
+			try {
+				new JSONArray(new JSONByteTokener(bytes));
+				fail("Should have thrown exception");
+			} catch (JSONException ex) {
+				assertTrue(ex.getMessage().startsWith("Unterminated string"));
+			}
+			JSONPushParser jsonpushparser = new JSONPushParser();
+			try {
+				jsonpushparser.feed(ByteBuffer.wrap(bytes));
+				jsonpushparser.endOfInput();
+				fail("Should have thrown exception");
+			} catch (JSONException ex) {
+				assertTrue(ex.getMessage(), ex.getMessage().startsWith("Unterminated string"));
+			}
+			jsonpushparser = new JSONPushParser();
+			try {
+				jsonpushparser.feed(ByteBuffer.wrap(bytes));
+				jsonpushparser.feed(ByteBuffer.wrap(utf8("\"]")));
+				assertTrue(jsonpushparser.hasNext());
+				assertEquals("x\ufffd,1]", ((JSONArray) jsonpushparser.nextValue()).getString(0));
+			} catch (JSONException ex) {
+				fail(ex.toString());
+			}
+		}
+	}
+}
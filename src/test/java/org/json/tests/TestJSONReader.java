@@ -0,0 +1,133 @@
+package org.json.tests;
+
+import java.io.StringReader;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONReader;
+import org.json.JSONTokener;
+
+import junit.framework.TestCase;
+
+public class TestJSONReader extends TestCase {
+
+	public void testNext_Events() {
+		JSONReader jsonreader = new JSONReader(new JSONTokener(
+				"{\"a\":[1, 2.5, 'x', true, null,, {}], b=>{\"c\":[]}; }"));
+		try {
+			assertEquals(JSONReader.START_OBJECT, jsonreader.next());
+			assertEquals(1, jsonreader.depth());
+			assertEquals(JSONReader.KEY, jsonreader.next());
+			assertEquals("a", jsonreader.getString());
+			assertEquals(JSONReader.START_ARRAY, jsonreader.next());
+			assertEquals(JSONReader.VALUE_NUMBER, jsonreader.next());
+			assertEquals(new Integer(1), jsonreader.getValue());
+			assertEquals(JSONReader.VALUE_NUMBER, jsonreader.next());
+			assertEquals(new Double(2.5), jsonreader.getValue());
+			assertEquals(JSONReader.VALUE_STRING, jsonreader.next());
+			assertEquals("x", jsonreader.getString());
+			assertEquals(JSONReader.VALUE_BOOLEAN, jsonreader.next());
+			assertEquals(Boolean.TRUE, jsonreader.getValue());
+			assertEquals(JSONReader.VALUE_NULL, jsonreader.next());
+			assertEquals(JSONReader.VALUE_NULL, jsonreader.next());
+			assertEquals(JSONObject.NULL, jsonreader.getValue());
+			assertEquals(JSONReader.START_OBJECT, jsonreader.next());
+			assertEquals(JSONReader.END_OBJECT, jsonreader.next());
+			assertEquals(JSONReader.END_ARRAY, jsonreader.next());
+			assertEquals(JSONReader.KEY, jsonreader.next());
+			assertEquals("b", jsonreader.getString());
+			assertEquals(JSONReader.START_OBJECT, jsonreader.next());
+			assertEquals(JSONReader.KEY, jsonreader.next());
+			assertEquals(JSONReader.START_ARRAY, jsonreader.next());
+			assertEquals(3, jsonreader.depth());
+			assertEquals(JSONReader.END_ARRAY, jsonreader.next());
+			assertEquals(JSONReader.END_OBJECT, jsonreader.next());
+			assertEquals(JSONReader.END_OBJECT, jsonreader.next());
+			assertEquals(0, jsonreader.depth());
+			assertEquals(JSONReader.END, jsonreader.next());
+			assertEquals(JSONReader.END, jsonreader.next());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNextJSONObject_Subtrees() {
+		JSONReader jsonreader = new JSONReader(new JSONTokener(new StringReader(
+				"[{\"id\":1,\"tags\":[\"a\"]}, {\"id\":2}, 3]"), 4));
+		try {
+			assertEquals(JSONReader.START_ARRAY, jsonreader.next());
+			assertEquals(JSONReader.START_OBJECT, jsonreader.peek());
+			JSONObject jsonobject = jsonreader.nextJSONObject();
+			assertEquals(1, jsonobject.getInt("id"));
+			assertEquals("a", jsonobject.getJSONArray("tags").getString(0));
+			assertEquals(2, jsonreader.nextJSONObject().getInt("id"));
+			assertEquals(new Integer(3), jsonreader.nextValue());
+			assertEquals(JSONReader.END_ARRAY, jsonreader.next());
+			assertEquals(JSONReader.END, jsonreader.next());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNextJSONArray_WrongValue() {
+		JSONReader jsonreader = new JSONReader(new JSONTokener("{\"a\":1}"));
+		try {
+			jsonreader.nextJSONArray();
+			fail("Should have thrown exception");
+		} catch (JSONException ex) {
+			assertEquals("Expected a JSONArray at 0 [character 1 line 1]", ex.getMessage());
+		}
+	}
+
+	public void testNext_TopLevelSequence() {
+		JSONReader jsonreader = new JSONReader(new JSONTokener("{\"a\":1}\n[2]\n\"three\""));
+		try {
+			assertEquals("{\"a\":1}", jsonreader.nextValue().toString());
+			JSONArray jsonarray = (JSONArray)jsonreader.nextValue();
+			assertEquals(2, jsonarray.getInt(0));
+			assertEquals(JSONReader.VALUE_STRING, jsonreader.next());
+			assertEquals("three", jsonreader.getString());
+			assertEquals(JSONReader.END, jsonreader.peek());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testSkipValue() {
+		JSONReader jsonreader = new JSONReader(new JSONTokener(
+				"{\"skip\":{\"a\":[1,{\"b\":2}]},\"keep\":3}"));
+		try {
+			assertEquals(JSONReader.START_OBJECT, jsonreader.next());
+			assertEquals(JSONReader.KEY, jsonreader.next());
+			jsonreader.skipValue();
+			assertEquals(JSONReader.KEY, jsonreader.next());
+			assertEquals("keep", jsonreader.getString());
+			assertEquals(new Integer(3), jsonreader.nextValue());
+			assertEquals(JSONReader.END_OBJECT, jsonreader.next());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNext_SyntaxErrorsSameAsJSONObject() {
+		String[] strings = new String[] { "{\"a\" 1}", "{\"a\":1 \"b\":2}", "[1, 2 {}]", "{\"a\":1", "[1," };
+		for (int i = 0; i < strings.length; i += 1) {
+			String expected = null;
+			try {
+				new JSONTokener(strings[i]).nextValue();
+				fail("Should have thrown exception");
+			} catch (JSONException ex) {
+				expected = ex.getMessage();
+			}
+			JSONReader jsonreader = new JSONReader(new JSONTokener(strings[i]));
+			try {
+				while (jsonreader.next() != JSONReader.END) {
+				}
+				fail("Should have thrown exception");
+			} catch (JSONException ex) {
+				assertEquals(expected, ex.getMessage());
+			}
+		}
+	}
+}
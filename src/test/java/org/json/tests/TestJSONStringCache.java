@@ -0,0 +1,139 @@
+package org.json.tests;
+
+import java.io.StringReader;
+
+import org.json.JSONArray;
+import org.json.JSONByteTokener;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONStringCache;
+import org.json.JSONTokener;
+
+import junit.framework.TestCase;
+
+public class TestJSONStringCache extends TestCase {
+
+	private static String firstKey(JSONArray jsonarray, int index)
+			throws JSONException {
+		return (String) jsonarray.getJSONObject(index).keys().next();
+	}
+
+	public void testIntern() {
+		JSONStringCache cache = new JSONStringCache(10);
+		cache.setCounting(true);
+		char[] chars = "xnamex".toCharArray();
+		String name = cache.intern(chars, 1, 4);
+		assertEquals("name", name);
+		assertSame(name, cache.intern(chars, 1, 4));
+		assertSame(name, cache.intern(new String("name")));
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals("JSONStringCache[size=16, hits=2, misses=1]", cache.toString());
+	}
+
+	public void testIntern_MaxLength() {
+		JSONStringCache cache = new JSONStringCache(16, 3);
+		cache.setCounting(true);
+		char[] chars = "long".toCharArray();
+		assertNotSame(cache.intern(chars, 0, 4), cache.intern(chars, 0, 4));
+		assertSame(cache.intern(chars, 0, 3), cache.intern(chars, 0, 3));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	public void testNextKey_SharedKeys() {
+		String string = "[{\"id\":1}, {\"id\":2}, {'id':3}, {\"i\\u0064\":4}]";
+		JSONStringCache cache = new JSONStringCache(64);
+		cache.setCounting(true);
+		try {
+			JSONTokener jsontokener = new JSONTokener(string);
+			jsontokener.setKeyCache(cache);
+			JSONArray jsonarray = new JSONArray(jsontokener);
+			for (int i = 1; i < 4; i += 1) {
+				assertSame(firstKey(jsonarray, 0), firstKey(jsonarray, i));
+			}
+			jsontokener = new JSONTokener(new StringReader(string), 3);
+			jsontokener.setKeyCache(cache);
+			jsonarray = new JSONArray(jsontokener);
+			for (int i = 0; i < 4; i += 1) {
+				assertSame(firstKey(jsonarray, 0), firstKey(jsonarray, i));
+			}
+			JSONByteTokener jsonbytetokener = new JSONByteTokener(
+					string.getBytes("UTF-8"));
+			jsonbytetokener.setKeyCache(cache);
+			jsonarray = new JSONArray(jsonbytetokener);
+			for (int i = 0; i < 4; i += 1) {
+				assertSame(firstKey(jsonarray, 0), firstKey(jsonarray, i));
+			}
+			assertEquals(11, cache.getHits());
+			assertEquals(1, cache.getMisses());
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNextKey_Unquoted() {
+		try {
+			JSONTokener jsontokener = new JSONTokener("{a:1, 1.50:2, TRUE:3}");
+			jsontokener.setKeyCache(new JSONStringCache(16));
+			jsontokener.setLazyNumbers(true);
+			JSONObject jsonobject = new JSONObject(jsontokener);
+			assertEquals(1, jsonobject.getInt("a"));
+			assertEquals(2, jsonobject.getInt("1.5"));
+			assertEquals(3, jsonobject.getInt("true"));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNextString_ValueCache() {
+		String string = "[\"USD\", \"EUR\", 'USD', \"U\\u0053D\", \"a long description\","
+				+ " \"a long description\"]";
+		JSONStringCache cache = new JSONStringCache(64, 8);
+		cache.setCounting(true);
+		try {
+			JSONTokener jsontokener = new JSONTokener(new StringReader(string), 4);
+			jsontokener.setValueCache(cache);
+			JSONArray jsonarray = new JSONArray(jsontokener);
+			assertSame(jsonarray.get(0), jsonarray.get(2));
+			assertSame(jsonarray.get(0), jsonarray.get(3));
+			assertNotSame(jsonarray.get(4), jsonarray.get(5));
+			assertEquals(jsonarray.get(4), jsonarray.get(5));
+			JSONByteTokener jsonbytetokener = new JSONByteTokener(
+					string.getBytes("UTF-8"));
+			jsonbytetokener.setValueCache(cache);
+			JSONArray other = new JSONArray(jsonbytetokener);
+			assertSame(jsonarray.get(0), other.get(0));
+			assertSame(jsonarray.get(1), other.get(1));
+			assertEquals(6, cache.getHits());
+			assertEquals(2, cache.getMisses());
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNextString_KeysNotAffected() {
+		JSONStringCache cache = new JSONStringCache(64);
+		cache.setCounting(true);
+		try {
+			JSONTokener jsontokener = new JSONTokener("{\"k\":\"v\"}");
+			jsontokener.setValueCache(cache);
+			assertEquals("v", new JSONObject(jsontokener).getString("k"));
+			assertEquals(0, cache.getHits());
+			assertEquals(1, cache.getMisses());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testIntern_NotCounting() {
+		JSONStringCache cache = new JSONStringCache(16);
+		String string = cache.intern("abc".toCharArray(), 0, 3);
+		assertSame(string, cache.intern("abc".toCharArray(), 0, 3));
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+		cache.setCounting(true);
+		assertSame(string, cache.intern("abc"));
+		assertEquals(1, cache.getHits());
+	}
+}
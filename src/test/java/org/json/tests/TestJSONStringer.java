@@ -126,8 +126,8 @@ public class TestJSONStringer extends TestCase {
 
 			JSONArray jsonarray = new JSONArray(" [\"<escape>\", next is an implied null , , ok,] ");
 			jsonobject = new JSONObject(jsonobject, new String[] {"dec", "oct", "hex", "missing"});
-			assertEquals("{\n \"oct\": 666,\n \"dec\": 666,\n \"hex\": \"0x666\"\n}", jsonobject.toString(1));
-			assertEquals("[[\"<escape>\",\"next is an implied null\",null,\"ok\"],{\"oct\":666,\"dec\":666,\"hex\":\"0x666\"}]",
+			assertEquals("{\n \"dec\": 666,\n \"oct\": 666,\n \"hex\": \"0x666\"\n}", jsonobject.toString(1));
+			assertEquals("[[\"<escape>\",\"next is an implied null\",null,\"ok\"],{\"dec\":666,\"oct\":666,\"hex\":\"0x666\"}]",
 					new JSONStringer().array().value(jsonarray).value(jsonobject).endArray().toString());
 		} catch (JSONException e) {
 			fail(e.getMessage());
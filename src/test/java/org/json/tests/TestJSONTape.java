@@ -0,0 +1,171 @@
+package org.json.tests;
+
+import org.json.JSONArray;
+import org.json.JSONByteTokener;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTape;
+
+import junit.framework.TestCase;
+
+public class TestJSONTape extends TestCase {
+
+	private static final String DOCUMENT = "{\"user\":{\"name\":\"Ann \\\"A\\\"\", \"id\":42,"
+			+ " \"big\":12345678901, \"score\":2.5, \"ok\":true, \"none\":null,"
+			+ " \"roles\":[\"admin\", [1, 2], {\"x\":1}, , 'single']},"
+			+ " \"count\":\"17\", unquoted:abc, \"empty\":{}}";
+
+	public void testFind_Members() {
+		try {
+			JSONTape tape = new JSONTape(DOCUMENT);
+			int user = tape.find(tape.root(), "user");
+			assertTrue(tape.isObject(user));
+			assertEquals(4, tape.length(tape.root()));
+			assertEquals(7, tape.length(user));
+			assertEquals("Ann \"A\"", tape.optString(user, "name"));
+			assertEquals(42, tape.optInt(user, "id"));
+			assertEquals(12345678901L, tape.optLong(user, "big"));
+			assertEquals(2.5, tape.optDouble(user, "score"), 0);
+			assertEquals(2, tape.optInt(user, "score"));
+			assertTrue(tape.optBoolean(user, "ok"));
+			assertTrue(tape.isNull(tape.find(user, "none")));
+			assertEquals("", tape.optString(user, "none"));
+			assertEquals(17, tape.optInt(tape.root(), "count"));
+			assertEquals("abc", tape.optString(tape.root(), "unquoted"));
+			assertEquals(0, tape.length(tape.find(tape.root(), "empty")));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testFind_Missing() {
+		try {
+			JSONTape tape = new JSONTape(DOCUMENT);
+			int user = tape.find(tape.root(), "user");
+			assertEquals(-1, tape.find(user, "nam"));
+			assertEquals(-1, tape.find(user, 0));
+			assertEquals(-1, tape.find(tape.find(user, "id"), "x"));
+			assertTrue(tape.isNull(-1));
+			assertNull(tape.opt(user, "missing"));
+			assertEquals("", tape.optString(user, "missing"));
+			assertEquals(0, tape.optInt(user, "missing"));
+			assertTrue(Double.isNaN(tape.optDouble(user, "name")));
+			assertFalse(tape.optBoolean(user, "id"));
+			assertNull(tape.optJSONObject(user, "roles"));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testFind_Elements() {
+		try {
+			JSONTape tape = new JSONTape(DOCUMENT);
+			int roles = tape.find(tape.find(tape.root(), "user"), "roles");
+			assertTrue(tape.isArray(roles));
+			assertEquals(5, tape.length(roles));
+			assertEquals("admin", tape.optString(roles, 0));
+			assertEquals(2, tape.optInt(tape.find(roles, 1), 1));
+			assertEquals(1, tape.optJSONObject(roles, 2).getInt("x"));
+			assertTrue(tape.isNull(tape.find(roles, 3)));
+			assertEquals("single", tape.optString(roles, 4));
+			assertEquals(-1, tape.find(roles, 5));
+			assertEquals(-1, tape.find(roles, -1));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testGet_MatchesTree() {
+		try {
+			JSONTape tape = new JSONTape(DOCUMENT);
+			JSONObject jsonobject = new JSONObject(DOCUMENT);
+			assertEquals(jsonobject.toString(), tape.get(tape.root()).toString());
+			assertEquals(jsonobject.toString(), tape.toString());
+			JSONObject user = tape.optJSONObject(tape.root(), "user");
+			assertEquals(Integer.valueOf(42), user.get("id"));
+			assertEquals(Long.valueOf(12345678901L), user.get("big"));
+			assertEquals(JSONObject.NULL, user.get("none"));
+			JSONArray roles = user.getJSONArray("roles");
+			assertEquals("[\"admin\",[1,2],{\"x\":1},null,\"single\"]", roles.toString());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testGet_DuplicateKeys() {
+		try {
+			JSONTape tape = new JSONTape("{\"a\":1, \"a\":2}");
+			assertEquals(1, tape.optInt(tape.root(), "a"));
+			assertEquals("{\"a\":1}", tape.toString());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testConstructor_Scalar() {
+		try {
+			assertEquals("\"text\"", new JSONTape("'text'").toString());
+			assertEquals("-7", new JSONTape(" -7 ").toString());
+			assertEquals(0, new JSONTape("[]").length(0));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testConstructor_UnquotedText() {
+		String text = "{a:TRUE, 1.50:False, null:nULL, b:[1.5, -0.0, 2e3, .5, +4,"
+			+ " 12345678901234567890, 1e400, 0x1F, -, abc def, caf\u00e9, 007]}";
+		try {
+			JSONTape tape = new JSONTape(text);
+			assertEquals(new JSONObject(text).toString(), tape.toString());
+			assertEquals(new JSONObject(text).toString(), new JSONTape(
+					new JSONByteTokener(text.getBytes("UTF-8"))).toString());
+			assertEquals(Boolean.FALSE, tape.get(tape.find(tape.root(), "1.5")));
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testConstructor_Bytes() {
+		try {
+			JSONTape tape = new JSONTape(new JSONByteTokener(
+					"{\"caf\u00e9\":\"\u00fcber\"}".getBytes("UTF-8")));
+			assertEquals("\u00fcber", tape.optString(tape.root(), "caf\u00e9"));
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testConstructor_SyntaxErrors() {
+		String[] texts = { "{\"a\":1", "{\"a\" 1}", "[1;2", "{\"a\":[}" };
+		String[] messages = {
+				"Expected a ',' or '}' at 7 [character 8 line 1]",
+				"Expected a ':' after a key at 6 [character 7 line 1]",
+				"Expected a ',' or ']' at 5 [character 6 line 1]",
+				"Missing value at 6 [character 7 line 1]" };
+		for (int i = 0; i < texts.length; i += 1) {
+			try {
+				new JSONTape(texts[i]);
+				fail("Should have thrown: " + texts[i]);
+			} catch (JSONException ex) {
+				assertEquals(messages[i], ex.getMessage());
+			}
+		}
+	}
+
+	public void testLength_LargeArray() {
+		try {
+			StringBuffer sb = new StringBuffer("[");
+			for (int i = 0; i < 20000; i += 1) {
+				sb.append(i).append(',');
+			}
+			sb.append("{\"last\":true}]");
+			JSONTape tape = new JSONTape(sb.toString());
+			assertEquals(20001, tape.length(tape.root()));
+			assertEquals(19999, tape.optInt(tape.root(), 19999));
+			assertTrue(tape.optBoolean(tape.find(tape.root(), 20000), "last"));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+}
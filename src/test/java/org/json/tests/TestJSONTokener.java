@@ -6,8 +6,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
 
 import org.json.JSONArray;
+import org.json.JSONByteTokener;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.JSONTokener;
@@ -407,6 +409,31 @@ public class TestJSONTokener extends TestCase {
 		}
 	}
 
+	public void testNextString_IllegalHexEscape() {
+		JSONTokener jsontokener = new JSONTokener("'ab\\u00zz'");
+		try {
+			jsontokener.next('\'');
+			jsontokener.nextString('\'');
+			fail("Should have thrown exception");
+		} catch (JSONException ex) {
+			assertEquals("Illegal escape. at 8 [character 9 line 1]", ex.getMessage());
+		}
+	}
+
+	public void testNextString_EscapesAcrossWindow() {
+		String string = "\"caf\\u00e9 \\\"quoted\\\" \\/ \\t tab, a much longer tail\"";
+		try {
+			String expected = new JSONTokener(string).nextValue().toString();
+			assertEquals("caf\u00e9 \"quoted\" / \t tab, a much longer tail", expected);
+			for (int size = 1; size <= 8; size += 1) {
+				JSONTokener jsontokener = new JSONTokener(new StringReader(string), size);
+				assertEquals(expected, jsontokener.nextValue());
+			}
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
 	public void testNextString_UnterminatedString() {
 		JSONTokener jsontokener = new JSONTokener("'abc");
 		try {
@@ -461,4 +488,308 @@ public class TestJSONTokener extends TestCase {
 			fail(ex.getMessage());
 		}
 	}
-}
\ No newline at end of file
+
+	public void testConstructor_BufferedReader() {
+		String string = "{\"abc\":\"12\\\"3\",\"list\":[1, 2.5, true, null, xyz],\n\t\"nested\":{\"a\":\"\\u0041b\"}}";
+		try {
+			JSONTokener unbuffered = new JSONTokener(new StringReader(string));
+			new JSONObject(unbuffered);
+			for (int size = 1; size <= 8; size += 1) {
+				JSONTokener jsontokener = new JSONTokener(new StringReader(string), size);
+				JSONObject jsonobject = new JSONObject(jsontokener);
+				assertEquals("12\"3", jsonobject.getString("abc"));
+				assertEquals(5, jsonobject.getJSONArray("list").length());
+				assertEquals(2.5, jsonobject.getJSONArray("list").getDouble(1), 0);
+				assertEquals("xyz", jsonobject.getJSONArray("list").getString(4));
+				assertEquals("Ab", jsonobject.getJSONObject("nested").getString("a"));
+				assertEquals(unbuffered.toString(), jsontokener.toString());
+			}
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testSyntaxError_BufferedReaderMatchesReader() {
+		String string = "{\"abc\":\r\n \"123\",\n\"wer\" \"rty\"}";
+		String expected = null;
+		try {
+			new JSONObject(new JSONTokener(new StringReader(string)));
+			fail("Should have thrown exception");
+		} catch (JSONException ex) {
+			expected = ex.getMessage();
+		}
+		try {
+			new JSONObject(new JSONTokener(new StringReader(string), 3));
+			fail("Should have thrown exception");
+		} catch (JSONException ex) {
+			assertEquals(expected, ex.getMessage());
+		}
+	}
+
+	public void testSkipTo_BufferedReader() {
+		String string = "{\"abc\":\"123\",\"wer\":\"rty\"}";
+		try {
+			JSONTokener jsontokener = new JSONTokener(new StringReader(string), 2);
+			assertEquals('{', jsontokener.next());
+			assertEquals("abc", jsontokener.nextValue());
+			assertEquals(':', jsontokener.next());
+			assertEquals("123", jsontokener.nextValue());
+			assertEquals(',', jsontokener.next());
+			assertEquals(0, jsontokener.skipTo('g'));
+			assertEquals('"', jsontokener.next());
+			assertEquals('t', jsontokener.skipTo('t'));
+			assertEquals('t', jsontokener.next());
+			assertEquals('y', jsontokener.next());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testNextValue_NumbersMatchStringToValue() {
+		String[] tokens = { "0", "-0", "-0.0", "007", "2147483647", "2147483648",
+				"-2147483649", "123456789012345678", "9223372036854775807",
+				"99999999999999999999", "0.1", "0.30000000000000004", "1.5e-3",
+				"1E22", "1e23", "4.9e-324", "1.7976931348623157e308", "1e400",
+				".5", "5.", "-.5", "+1", "+1.5", "1e", "1.5f", "0x1F", "-", ".",
+				"12abc", "true", "FALSE", "nUlL", "truex", "Infinity" };
+		for (int i = 0; i < tokens.length; i += 1) {
+			Object expected = JSONObject.stringToValue(tokens[i]);
+			try {
+				Object value = new JSONTokener(tokens[i] + " ").nextValue();
+				assertEquals(tokens[i], expected, value);
+				assertEquals(tokens[i], expected.getClass(), value.getClass());
+				value = new JSONTokener(new StringReader(tokens[i]), 2).nextValue();
+				assertEquals(tokens[i], expected, value);
+			} catch (JSONException ex) {
+				fail(ex.toString());
+			}
+		}
+	}
+
+	private static String afterSkip(JSONTokener jsontokener) throws JSONException {
+		jsontokener.skipValue();
+		return jsontokener.nextClean() + jsontokener.toString();
+	}
+
+	public void testSkipValue_SamePositionAsNextValue() {
+		String[] strings = { "{\"a\":[1, 2, {\"b\":\"]}\\\"\"}], 'c':'}'} X",
+				"[ab'c, \"x\\ty\",\n [\r\n], {}\n] X", "'it''s' X", "\"\" X",
+				"  true X", "12.5e3 X", "{\"caf\u00e9\":\"\u20ac\ud83d\ude00\"} X" };
+		try {
+			for (int i = 0; i < strings.length; i += 1) {
+				JSONTokener jsontokener = new JSONTokener(strings[i]);
+				jsontokener.nextValue();
+				String expected = jsontokener.nextClean() + jsontokener.toString();
+				assertEquals(expected, afterSkip(new JSONTokener(strings[i])));
+				assertEquals(expected, afterSkip(new JSONTokener(new StringReader(strings[i]))));
+				for (int size = 1; size <= 5; size += 1) {
+					assertEquals(expected, afterSkip(new JSONTokener(
+							new StringReader(strings[i]), size)));
+				}
+				JSONTokener bytetokener = new JSONByteTokener(strings[i].getBytes("UTF-8"));
+				bytetokener.nextValue();
+				expected = bytetokener.nextClean() + bytetokener.toString();
+				assertEquals(expected, afterSkip(new JSONByteTokener(
+						strings[i].getBytes("UTF-8"))));
+			}
+		} catch (Exception ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testSkipValue_Errors() {
+		try {
+			new JSONTokener("[1, {\"a\":2]").skipValue();
+			fail("Should have thrown exception");
+		} catch (JSONException ex) {
+			assertEquals("Unterminated value at 12 [character 13 line 1]", ex.getMessage());
+		}
+		try {
+			new JSONTokener("[\"abc\n\"]").skipValue();
+			fail("Should have thrown exception");
+		} catch (JSONException ex) {
+			assertEquals("Unterminated string at 6 [character 0 line 2]", ex.getMessage());
+		}
+		try {
+			new JSONTokener("  , 1").skipValue();
+			fail("Should have thrown exception");
+		} catch (JSONException ex) {
+			assertEquals("Missing value at 2 [character 3 line 1]", ex.getMessage());
+		}
+	}
+
+	public void testSkipUntil() {
+		StringBuffer sb = new StringBuffer();
+		for (int i = 0; i < 3000; i += 1) {
+			sb.append("line ").append(i).append('\n');
+		}
+		sb.append("#end");
+		try {
+			JSONTokener jsontokener = new JSONTokener(new StringReader(sb.toString()), 64);
+			assertEquals('#', jsontokener.skipUntil('#'));
+			assertEquals('#', jsontokener.next());
+			assertEquals("end", jsontokener.nextTo('\n'));
+			assertEquals(" at 28895 [character 5 line 3001]", jsontokener.toString());
+			jsontokener = new JSONTokener(new StringReader(sb.toString()));
+			assertEquals(0, jsontokener.skipUntil('%'));
+			assertTrue(jsontokener.end());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testSetLazyValues_VerbatimUntilUsed() {
+		String source = "{\"a\" : { \"b\" : [1, 2.50, \"x\"] },\n\"c\":[ {\"d\":true} ], \"e\":3}";
+		try {
+			JSONTokener jsontokener = new JSONTokener(source);
+			jsontokener.setLazyValues(true);
+			JSONObject jsonobject = new JSONObject(jsontokener);
+			assertEquals(3, jsonobject.getInt("e"));
+			assertTrue(jsonobject.toString().indexOf("{ \"b\" : [1, 2.50, \"x\"] }") >= 0);
+			assertTrue(jsonobject.toString().indexOf("[ {\"d\":true} ]") >= 0);
+			JSONArray jsonarray = jsonobject.getJSONObject("a").getJSONArray("b");
+			assertEquals(2.5, jsonarray.getDouble(1), 0);
+			assertTrue(jsonobject.getJSONArray("c").getJSONObject(0).getBoolean("d"));
+			jsonobject.getJSONObject("a").put("z", 1);
+			assertEquals(new JSONObject(source).put("e", 3).getJSONObject("a").put("z", 1)
+					.toString(), jsonobject.getJSONObject("a").toString());
+			StringWriter writer = new StringWriter();
+			jsonobject.write(writer);
+			assertTrue(writer.toString().indexOf("\"z\":1") > 0);
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testSetLazyValues_Indented() {
+		String source = "{\"a\" : { \"b\" : [1, 2.50, \"x\"] }, \"c\":[ {\"d\":true} ]}";
+		try {
+			JSONTokener jsontokener = new JSONTokener(source);
+			jsontokener.setLazyValues(true);
+			JSONObject jsonobject = new JSONObject(jsontokener);
+			String expected = new JSONObject(source).toString(2);
+			assertEquals(expected, jsonobject.toString(2));
+			jsontokener = new JSONTokener("[" + source + "]");
+			jsontokener.setLazyValues(true);
+			JSONArray jsonarray = new JSONArray(jsontokener);
+			assertEquals(new JSONArray("[" + source + "]").toString(4),
+					jsonarray.toString(4));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testSetLazyValues_DuplicateKey() {
+		String[] sources = {"[{\"a\":1, \"a\":2}]", "[{\"b\":{\"a\":1, \"\\u0061\":2}}]"};
+		for (int i = 0; i < sources.length; i += 1) {
+			try {
+				new JSONArray(sources[i]);
+				fail("Should have thrown exception.");
+			} catch (JSONException ex) {
+				assertTrue(ex.getMessage().startsWith("Duplicate key \"a\""));
+			}
+			try {
+				JSONTokener jsontokener = new JSONTokener(sources[i]);
+				jsontokener.setLazyValues(true);
+				JSONArray jsonarray = new JSONArray(jsontokener);
+				assertNull(jsonarray.toString());
+				try {
+					if (i == 0) {
+						jsonarray.get(0);
+					} else {
+						jsonarray.getJSONObject(0).get("b");
+					}
+					fail("Should have thrown exception.");
+				} catch (JSONException ex) {
+					assertTrue(ex.getMessage().startsWith("Duplicate key \"a\""));
+				}
+			} catch (JSONException ex) {
+				fail(ex.toString());
+			}
+		}
+	}
+
+	public void testSetLazyValues_LenientSourceIsRewritten() {
+		try {
+			JSONTokener jsontokener = new JSONTokener("[{b:'x'}, [01], {\"c\" : [ ]}]");
+			jsontokener.setLazyValues(true);
+			JSONArray jsonarray = new JSONArray(jsontokener);
+			assertEquals("[{\"b\":\"x\"},[1],{\"c\" : [ ]}]", jsonarray.toString());
+			assertEquals("x", jsonarray.getJSONObject(0).getString("b"));
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testSetLazyValues_DeferredSyntaxError() {
+		String source = "{\"ok\":[1],\n \"bad\":{\"x\" 1}}";
+		String expected = null;
+		try {
+			new JSONObject(source);
+			fail("Should have thrown");
+		} catch (JSONException ex) {
+			expected = ex.getMessage();
+		}
+		try {
+			JSONTokener jsontokener = new JSONTokener(source);
+			jsontokener.setLazyValues(true);
+			JSONObject jsonobject = new JSONObject(jsontokener);
+			assertEquals(1, jsonobject.getJSONArray("ok").getInt(0));
+			assertNull(jsonobject.opt("bad"));
+			assertTrue(jsonobject.has("bad"));
+			try {
+				jsonobject.get("bad");
+				fail("Should have thrown");
+			} catch (JSONException ex) {
+				assertEquals(expected, ex.getMessage());
+			}
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testSetLazyValues_RemoveSyntaxError() {
+		String source = "{\"ok\":[1],\n \"bad\":{\"x\" 1}}";
+		String expected = null;
+		try {
+			new JSONObject(source);
+			fail("Should have thrown");
+		} catch (JSONException ex) {
+			expected = ex.getMessage();
+		}
+		try {
+			JSONTokener jsontokener = new JSONTokener(source);
+			jsontokener.setLazyValues(true);
+			JSONObject jsonobject = new JSONObject(jsontokener);
+			assertEquals("[1]", jsonobject.remove("ok").toString());
+			Object bad = jsonobject.remove("bad");
+			assertNotNull(bad);
+			assertFalse(jsonobject.has("bad"));
+			jsonobject.put("bad", bad);
+			try {
+				jsonobject.get("bad");
+				fail("Should have thrown");
+			} catch (JSONException ex) {
+				assertEquals(expected, ex.getMessage());
+			}
+			jsontokener = new JSONTokener("[{\"x\" 1}]");
+			jsontokener.setLazyValues(true);
+			JSONArray jsonarray = new JSONArray(jsontokener);
+			assertNotNull(jsonarray.remove(0));
+			assertEquals(0, jsonarray.length());
+		} catch (JSONException ex) {
+			fail(ex.toString());
+		}
+	}
+
+	public void testSetLazyValues_UnclosedValue() {
+		try {
+			JSONTokener jsontokener = new JSONTokener("{\"a\":[1, {\"b\":2}");
+			jsontokener.setLazyValues(true);
+			new JSONObject(jsontokener);
+			fail("Should have thrown");
+		} catch (JSONException ex) {
+			assertEquals("Unterminated value at 17 [character 18 line 1]", ex.getMessage());
+		}
+	}
+}
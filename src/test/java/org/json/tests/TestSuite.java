@@ -6,9 +6,23 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses( {
 	TestJSONArray.class,
+	TestJSONByteTokener.class,
+	TestJSONByteWriter.class,
+	TestJSONColumns.class,
 	TestJSONException.class,
+	TestJSONLineReader.class,
+	TestJSONLineWriter.class,
+	TestJSONMappedTokener.class,
+	TestJSONNumber.class,
 	TestJSONObject.class,
+	TestJSONParallelArrayParser.class,
+	TestJSONParallelLineReader.class,
+	TestJSONProjection.class,
+	TestJSONPushParser.class,
+	TestJSONReader.class,
+	TestJSONStringCache.class,
 	TestJSONStringer.class,
+	TestJSONTape.class,
 	TestJSONTokener.class,
 TestJSONWriter.class })
 public class TestSuite {